@@ -0,0 +1,100 @@
+package com.derinkaras.recipebook.bench;
+
+import com.derinkaras.recipebook.dataset.CatalogText;
+import com.derinkaras.recipebook.dataset.ZipfDistribution;
+import com.derinkaras.recipebook.dto.recipe.RecipeDto;
+import com.derinkaras.recipebook.dto.recipe.RecipeRow;
+import com.derinkaras.recipebook.mapper.RecipeMapper;
+import com.derinkaras.recipebook.model.Ingredient;
+import com.derinkaras.recipebook.model.Recipe;
+import com.derinkaras.recipebook.model.User;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.SplittableRandom;
+
+// Deterministic in-memory recipes, users and ingredients for the benchmarks (fixed seed, so
+// every run and every fork measures the same data). Uses the text and the Zipf ingredient
+// skew of the load test's DatasetGenerator, so the objects being mapped and serialized look
+// like the rows in a generated catalog: log-normal descriptions, 5-15 ingredients per recipe
+// drawn mostly from the staples.
+final class BenchmarkData {
+
+    static final int INGREDIENT_COUNT = 2000;
+
+    final List<Ingredient> ingredients;
+    final Map<Long, String> ingredientNames;
+
+    private final SplittableRandom random = new SplittableRandom(42);
+    private final ZipfDistribution ingredientRanks = new ZipfDistribution(INGREDIENT_COUNT, 1.0);
+
+    BenchmarkData() {
+        ingredients = new ArrayList<>(INGREDIENT_COUNT);
+        ingredientNames = new HashMap<>();
+        for (long id = 1; id <= INGREDIENT_COUNT; id++) {
+            Ingredient ingredient = new Ingredient();
+            ingredient.setId(id);
+            ingredient.setName(CatalogText.ingredientName((int) id));
+            ingredients.add(ingredient);
+            ingredientNames.put(id, ingredient.getName());
+        }
+    }
+
+    List<User> users(int count) {
+        List<User> users = new ArrayList<>(count);
+        for (long id = 1; id <= count; id++) {
+            User user = new User();
+            user.setId(id);
+            user.setUsername("user" + id);
+            user.setEmail("user" + id + "@example.com");
+            user.setCreatedDate(LocalDateTime.of(2024, 1, 1, 0, 0).plusMinutes(id));
+            users.add(user);
+        }
+        return users;
+    }
+
+    List<Recipe> recipes(int count) {
+        List<User> owners = users(Math.max(1, count / 10));
+        List<Recipe> recipes = new ArrayList<>(count);
+        for (long id = 1; id <= count; id++) {
+            Recipe recipe = new Recipe();
+            recipe.setId(id);
+            recipe.setTitle(CatalogText.title(random));
+            recipe.setDescription(CatalogText.description(random));
+            recipe.setDifficulty(CatalogText.difficulty(random));
+            recipe.setCreatedAt(LocalDateTime.of(2024, 1, 1, 0, 0).plusMinutes(id));
+            recipe.setVersion((long) random.nextInt(5));
+            recipe.setOwner(owners.get(random.nextInt(owners.size())));
+            Set<Ingredient> used = new HashSet<>();
+            int ingredientCount = 5 + random.nextInt(11);
+            while (used.size() < ingredientCount) {
+                used.add(ingredients.get(ingredientRanks.sample(random) - 1));
+            }
+            recipe.setIngredients(used);
+            recipes.add(recipe);
+        }
+        return recipes;
+    }
+
+    static List<RecipeRow> rows(List<Recipe> recipes) {
+        List<RecipeRow> rows = new ArrayList<>(recipes.size());
+        for (Recipe recipe : recipes) {
+            rows.add(new RecipeRow(recipe.getId(), recipe.getTitle(), recipe.getDescription(),
+                    recipe.getDifficulty(), recipe.getCreatedAt(), recipe.getVersion(), recipe.getOwner().getId()));
+        }
+        return rows;
+    }
+
+    static List<RecipeDto> dtos(List<Recipe> recipes) {
+        List<RecipeDto> dtos = new ArrayList<>(recipes.size());
+        for (Recipe recipe : recipes) {
+            dtos.add(RecipeMapper.toDto(recipe));
+        }
+        return dtos;
+    }
+}
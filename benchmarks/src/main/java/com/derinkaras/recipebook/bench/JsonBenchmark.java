@@ -0,0 +1,64 @@
+package com.derinkaras.recipebook.bench;
+
+import com.derinkaras.recipebook.dto.recipe.RecipeDto;
+import com.derinkaras.recipebook.dto.recipe.RecipePageDto;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// JSON encoding of recipe responses of `size` items with an ObjectMapper configured the way
+// Spring Boot configures the application's (Jackson2ObjectMapperBuilder defaults: JavaTimeModule,
+// ISO dates). Throughput is responses per second; -prof gc gives bytes allocated per response.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(2)
+public class JsonBenchmark {
+
+    @Param({"10", "100", "10000"})
+    int size;
+
+    private ObjectMapper objectMapper;
+    private ObjectWriter listWriter;
+    private List<RecipeDto> recipes;
+    private RecipePageDto page;
+
+    @Setup
+    public void setUp() {
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        // Spring MVC writes with a writer for the declared return type
+        listWriter = objectMapper.writerFor(new TypeReference<List<RecipeDto>>() { });
+        recipes = BenchmarkData.dtos(new BenchmarkData().recipes(size));
+        page = new RecipePageDto(recipes, "eyJjIjoiMjAyNC0wMS0wMVQwMDowMDowMCIsImkiOjF9");
+    }
+
+    // GET /api/v1/recipe, /search, ...
+    @Benchmark
+    public byte[] recipeList() throws JsonProcessingException {
+        return listWriter.writeValueAsBytes(recipes);
+    }
+
+    // GET /api/v1/recipe?limit=...
+    @Benchmark
+    public byte[] recipePage() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(page);
+    }
+}
@@ -0,0 +1,95 @@
+package com.derinkaras.recipebook.bench;
+
+import com.derinkaras.recipebook.dto.recipe.RecipeRow;
+import com.derinkaras.recipebook.mapper.IngredientMapper;
+import com.derinkaras.recipebook.mapper.RecipeMapper;
+import com.derinkaras.recipebook.mapper.UserMapper;
+import com.derinkaras.recipebook.model.Ingredient;
+import com.derinkaras.recipebook.model.Recipe;
+import com.derinkaras.recipebook.model.User;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+// Entity/projection -> DTO mapping for one page of `size` items, as the list endpoints do it.
+// Throughput is pages per second; run with -prof gc for the bytes allocated per page
+// (gc.alloc.rate.norm).
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(2)
+public class MapperBenchmark {
+
+    @Param({"10", "100", "10000"})
+    int size;
+
+    private List<Recipe> recipes;
+    private List<RecipeRow> rows;
+    private List<List<String>> rowIngredientNames;
+    private List<User> users;
+    private List<Ingredient> ingredients;
+    private Map<Long, String> ingredientNames;
+
+    @Setup
+    public void setUp() {
+        BenchmarkData data = new BenchmarkData();
+        recipes = data.recipes(size);
+        rows = BenchmarkData.rows(recipes);
+        rowIngredientNames = BenchmarkData.dtos(recipes).stream().map(dto -> dto.getIngredientNames()).toList();
+        users = data.users(size);
+        ingredients = data.ingredients.subList(0, Math.min(size, data.ingredients.size()));
+        ingredientNames = data.ingredientNames;
+    }
+
+    @Benchmark
+    public void recipeToDto(Blackhole blackhole) {
+        for (Recipe recipe : recipes) {
+            blackhole.consume(RecipeMapper.toDto(recipe));
+        }
+    }
+
+    // The variant used with IngredientDictionary: names looked up by id, then sorted
+    @Benchmark
+    public void recipeToDtoWithNameLookup(Blackhole blackhole) {
+        for (Recipe recipe : recipes) {
+            blackhole.consume(RecipeMapper.toDto(recipe, ingredientNames::get));
+        }
+    }
+
+    @Benchmark
+    public void recipeRowToDto(Blackhole blackhole) {
+        for (int i = 0; i < rows.size(); i++) {
+            blackhole.consume(RecipeMapper.toDto(rows.get(i), rowIngredientNames.get(i)));
+        }
+    }
+
+    @Benchmark
+    public void userToDto(Blackhole blackhole) {
+        for (User user : users) {
+            blackhole.consume(UserMapper.toUserDto(user));
+        }
+    }
+
+    // At most INGREDIENT_COUNT ingredients exist, so size=10000 maps 2000
+    @Benchmark
+    public void ingredientToDto(Blackhole blackhole) {
+        for (Ingredient ingredient : ingredients) {
+            blackhole.consume(IngredientMapper.toDto(ingredient));
+        }
+    }
+}
@@ -0,0 +1,95 @@
+package com.derinkaras.recipebook.dataset;
+
+import java.util.random.RandomGenerator;
+
+// Deterministic text for generated rows: recipe titles and descriptions, ingredient names,
+// people's names and bios. Description lengths are log-normal (median about 45 words, long
+// tail up to the 2000-character column limit), like hand-written recipe blurbs.
+public final class CatalogText {
+
+    public static final String[] DIFFICULTIES = {"EASY", "MEDIUM", "HARD"};
+
+    private static final String[] ADJECTIVES = {
+            "roasted", "spicy", "creamy", "smoked", "honey-glazed", "crispy", "slow-cooked", "fresh",
+            "baked", "grilled", "lemony", "garlicky", "charred", "braised", "pickled", "zesty", "sticky",
+            "herby", "toasted", "poached", "silky", "rustic", "quick", "one-pot", "sheet-pan"};
+    private static final String[] DISHES = {
+            "chicken", "salmon", "tofu", "risotto", "curry", "stew", "salad", "noodles", "tacos", "soup",
+            "pasta", "lasagna", "dumplings", "flatbread", "pie", "tart", "chili", "gnocchi", "ramen",
+            "frittata", "pilaf", "burger", "bowl", "gratin", "skewers", "stir-fry", "cake", "cookies"};
+    private static final String[] FILLER = {
+            "the", "a", "with", "and", "until", "golden", "minutes", "heat", "stir", "add", "serve",
+            "season", "simmer", "oven", "pan", "gently", "taste", "sauce", "bake", "fold", "rest",
+            "crisp", "tender", "bright", "weeknight", "family", "favourite", "easy", "leftovers", "pinch"};
+    private static final String[] INGREDIENT_BASES = {
+            "salt", "garlic", "olive oil", "onion", "butter", "black pepper", "lemon", "tomato", "basil",
+            "flour", "sugar", "egg", "milk", "ginger", "chili", "rice", "soy sauce", "parsley", "cumin",
+            "paprika", "carrot", "potato", "mushroom", "spinach", "cheddar", "parmesan", "honey", "coconut milk",
+            "chickpeas", "lentils", "thyme", "rosemary", "coriander", "lime", "cream", "yogurt", "vinegar"};
+    private static final String[] INGREDIENT_VARIANTS = {
+            "", "fresh", "dried", "smoked", "ground", "chopped", "organic", "roasted", "frozen", "wild"};
+    private static final String[] FIRST_NAMES = {
+            "Ada", "Ben", "Chloe", "Deniz", "Elif", "Farah", "Gabriel", "Hana", "Ivan", "Jun", "Kemal",
+            "Lena", "Mateo", "Nora", "Omar", "Priya", "Quinn", "Rosa", "Sami", "Tara", "Umut", "Vera"};
+    private static final String[] LAST_NAMES = {
+            "Adams", "Berg", "Costa", "Demir", "Evans", "Fischer", "Garcia", "Hughes", "Ito", "Jensen",
+            "Kaya", "Lopez", "Moreau", "Nakamura", "Okafor", "Petrov", "Rossi", "Silva", "Tanaka", "Yilmaz"};
+
+    private CatalogText() {
+    }
+
+    // Unique for every id: the first INGREDIENT_BASES.length ids are the plain staples, which
+    // are also the most frequently used under the Zipf ranks
+    public static String ingredientName(int id) {
+        int base = (id - 1) % INGREDIENT_BASES.length;
+        int round = (id - 1) / INGREDIENT_BASES.length;
+        if (round == 0) {
+            return INGREDIENT_BASES[base];
+        }
+        String variant = INGREDIENT_VARIANTS[round % INGREDIENT_VARIANTS.length];
+        String name = variant.isEmpty() ? INGREDIENT_BASES[base] : variant + " " + INGREDIENT_BASES[base];
+        return round < INGREDIENT_VARIANTS.length ? name : name + " " + round;
+    }
+
+    public static String title(RandomGenerator random) {
+        return pick(ADJECTIVES, random) + " " + pick(ADJECTIVES, random) + " " + pick(DISHES, random);
+    }
+
+    public static String description(RandomGenerator random) {
+        int words = (int) Math.round(Math.exp(Math.log(45) + 0.6 * random.nextGaussian()));
+        StringBuilder text = new StringBuilder();
+        for (int i = 0; i < Math.max(words, 3) && text.length() < 1900; i++) {
+            if (i > 0) {
+                text.append(' ');
+            }
+            text.append(i % 7 == 3 ? pick(DISHES, random) : pick(FILLER, random));
+        }
+        return text.append('.').toString();
+    }
+
+    public static String difficulty(RandomGenerator random) {
+        double roll = random.nextDouble();
+        return roll < 0.5 ? DIFFICULTIES[0] : roll < 0.85 ? DIFFICULTIES[1] : DIFFICULTIES[2];
+    }
+
+    public static String firstName(RandomGenerator random) {
+        return pick(FIRST_NAMES, random);
+    }
+
+    public static String lastName(RandomGenerator random) {
+        return pick(LAST_NAMES, random);
+    }
+
+    public static String bio(RandomGenerator random) {
+        return "Cooks " + pick(DISHES, random) + " and " + pick(DISHES, random) + " most weeks.";
+    }
+
+    // Words that appear in titles, for search queries that find something
+    public static String searchWord(RandomGenerator random) {
+        return pick(DISHES, random);
+    }
+
+    private static String pick(String[] values, RandomGenerator random) {
+        return values[random.nextInt(values.length)];
+    }
+}
@@ -0,0 +1,241 @@
+package com.derinkaras.recipebook.dataset;
+
+import org.flywaydb.core.Flyway;
+import org.postgresql.PGConnection;
+import org.postgresql.copy.CopyManager;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.SplittableRandom;
+
+// Fills an empty recipe-book database with a production-shaped catalog (DatasetSpec):
+//   - users, a profileRatio share of them with a user_profile
+//   - ingredients, with Zipf-skewed usage (a few staples are in most recipes)
+//   - recipes, with Zipf-skewed owners and log-normal description lengths
+//   - recipe_ingredient links, about meanIngredientsPerRecipe per recipe
+//
+// Rows go in with COPY FROM STDIN (CopyWriter), one table at a time in foreign-key order,
+// followed by setval on the id sequences (the application's pooled generators then start
+// their next block above n) and ANALYZE. Ids are assigned here (1..n), so the
+// same spec always yields the same rows; each table draws from its own random stream split
+// from the seed, so changing one table's size doesn't reshuffle the others. The one exception
+// is the password column: every user gets the same bcrypt hash of "password", computed once
+// (bcrypt salts are random and hashing millions of passwords would take hours).
+//
+// From the command line (the schema is created/migrated with Flyway first):
+//   java ... DatasetGenerator jdbc:postgresql://localhost:5432/recipe_db recipe_user secretpassword
+// with the sizes as -Ddataset.users=1000000 -Ddataset.recipes=5000000 ... (see DatasetSpec.from)
+public final class DatasetGenerator {
+
+    public static final String PASSWORD = "password";
+
+    // 2024-01-01 plus up to three years, spread by id, so created_at keyset pages see real dates
+    private static final LocalDateTime EPOCH = LocalDateTime.of(2024, 1, 1, 0, 0);
+    private static final long SPAN_MINUTES = 3L * 365 * 24 * 60;
+
+    private final DatasetSpec spec;
+
+    public DatasetGenerator(DatasetSpec spec) {
+        this.spec = spec;
+    }
+
+    public static void main(String[] args) throws Exception {
+        if (args.length < 3) {
+            System.err.println("usage: DatasetGenerator <jdbc-url> <user> <password>  (sizes via -Ddataset.*)");
+            System.exit(2);
+        }
+        DatasetSpec spec = DatasetSpec.from("dataset.", System::getProperty);
+        migrateAndGenerate(spec, args[0], args[1], args[2]);
+    }
+
+    // Creates the schema (the application's Flyway migrations) and loads the dataset.
+    // The transactional lock is off for the same reason as in application.properties: V2 creates
+    // its indexes CONCURRENTLY, which would otherwise wait forever on Flyway's own lock transaction.
+    public static void migrateAndGenerate(DatasetSpec spec, String url, String user, String password) throws SQLException {
+        Flyway.configure()
+                .dataSource(url, user, password)
+                .locations("classpath:db/migration")
+                .configuration(Map.of("flyway.postgresql.transactional.lock", "false"))
+                .load()
+                .migrate();
+        try (Connection connection = DriverManager.getConnection(url, user, password)) {
+            new DatasetGenerator(spec).generate(connection);
+        }
+    }
+
+    public void generate(Connection connection) throws SQLException {
+        requireEmpty(connection);
+        try (Statement statement = connection.createStatement()) {
+            // Nothing here needs to survive a crash mid-load; skip waiting for WAL flushes
+            statement.execute("SET synchronous_commit = off");
+        }
+        CopyManager copy = connection.unwrap(PGConnection.class).getCopyAPI();
+        SplittableRandom root = new SplittableRandom(spec.seed());
+        SplittableRandom userRandom = root.split();
+        SplittableRandom recipeRandom = root.split();
+        SplittableRandom linkRandom = root.split();
+
+        long started = System.nanoTime();
+        loadIngredients(copy);
+        loadUsers(copy, userRandom);
+        loadRecipes(copy, recipeRandom);
+        loadRecipeIngredients(copy, linkRandom);
+
+        try (Statement statement = connection.createStatement()) {
+            setSequence(statement, "users_id_seq", spec.users());
+            setSequence(statement, "ingredient_id_seq", spec.ingredients());
+            setSequence(statement, "recipe_id_seq", spec.recipes());
+            statement.execute("ANALYZE");
+        }
+        log("done in %ds", (System.nanoTime() - started) / 1_000_000_000L);
+    }
+
+    // Zipf rank -> id. Spreads the popular ranks over the whole id range (a fixed stride that is
+    // coprime to n visits every id once), so the heaviest owners aren't simply the oldest users.
+    static long idForRank(int rank, int n) {
+        long stride = strideFor(n);
+        return ((rank - 1) * stride) % n + 1;
+    }
+
+    private static long strideFor(int n) {
+        long stride = Math.max(1, (long) (n * 0.618033988749895));
+        while (gcd(stride, n) != 1) {
+            stride++;
+        }
+        return stride;
+    }
+
+    private void loadIngredients(CopyManager copy) throws SQLException {
+        try (CopyWriter rows = new CopyWriter(copy, "ingredient", "id, name")) {
+            for (int id = 1; id <= spec.ingredients(); id++) {
+                rows.column(id).column(CatalogText.ingredientName(id)).endRow();
+            }
+            rows.close();
+            log("ingredient: %d rows", rows.rows());
+        }
+    }
+
+    private void loadUsers(CopyManager copy, SplittableRandom random) throws SQLException {
+        String passwordHash = new BCryptPasswordEncoder(4).encode(PASSWORD);
+        SplittableRandom profileRandom = random.split();
+        try (CopyWriter users = new CopyWriter(copy, "users", "id, email, username, password, created_date")) {
+            for (int id = 1; id <= spec.users(); id++) {
+                users.column(id)
+                        .column("user" + id + "@example.com")
+                        .column("user" + id)
+                        .column(passwordHash)
+                        .column(timestamp(id, spec.users()))
+                        .endRow();
+            }
+            users.close();
+            log("users: %d rows", users.rows());
+        }
+        try (CopyWriter profiles = new CopyWriter(copy, "user_profile", "first_name, last_name, bio, user_id")) {
+            for (int id = 1; id <= spec.users(); id++) {
+                if (profileRandom.nextDouble() >= spec.profileRatio()) {
+                    continue;
+                }
+                profiles.column(CatalogText.firstName(profileRandom))
+                        .column(CatalogText.lastName(profileRandom))
+                        .column(profileRandom.nextInt(3) == 0 ? null : CatalogText.bio(profileRandom))
+                        .column(id)
+                        .endRow();
+            }
+            profiles.close();
+            log("user_profile: %d rows", profiles.rows());
+        }
+    }
+
+    private void loadRecipes(CopyManager copy, SplittableRandom random) throws SQLException {
+        ZipfDistribution owners = new ZipfDistribution(spec.users(), spec.ownerExponent());
+        try (CopyWriter rows = new CopyWriter(copy, "recipe",
+                "id, title, description, difficulty, created_at, version, owner_id")) {
+            for (int id = 1; id <= spec.recipes(); id++) {
+                rows.column(id)
+                        .column(CatalogText.title(random))
+                        .column(CatalogText.description(random))
+                        .column(CatalogText.difficulty(random))
+                        .column(timestamp(id, spec.recipes()))
+                        .column(0)
+                        .column(idForRank(owners.sample(random), spec.users()))
+                        .endRow();
+            }
+            rows.close();
+            log("recipe: %d rows", rows.rows());
+        }
+    }
+
+    private void loadRecipeIngredients(CopyManager copy, SplittableRandom random) throws SQLException {
+        ZipfDistribution ingredients = new ZipfDistribution(spec.ingredients(), spec.ingredientExponent());
+        int maxPerRecipe = Math.min(spec.ingredients(), (int) Math.ceil(spec.meanIngredientsPerRecipe() * 3));
+        Set<Integer> chosen = new HashSet<>();
+        try (CopyWriter rows = new CopyWriter(copy, "recipe_ingredient", "recipe_id, ingredient_id")) {
+            for (int recipeId = 1; recipeId <= spec.recipes(); recipeId++) {
+                int count = Math.min(maxPerRecipe, 1 + poisson(spec.meanIngredientsPerRecipe() - 1, random));
+                chosen.clear();
+                // Ingredient ranks map to ids directly: CatalogText names the low ids as staples
+                while (chosen.size() < count) {
+                    int ingredientId = ingredients.sample(random);
+                    if (chosen.add(ingredientId)) {
+                        rows.column(recipeId).column(ingredientId).endRow();
+                    }
+                }
+            }
+            rows.close();
+            log("recipe_ingredient: %d rows", rows.rows());
+        }
+    }
+
+    private static void requireEmpty(Connection connection) throws SQLException {
+        try (Statement statement = connection.createStatement();
+             var result = statement.executeQuery(
+                     "SELECT (SELECT count(*) FROM users) + (SELECT count(*) FROM ingredient) + (SELECT count(*) FROM recipe)")) {
+            result.next();
+            if (result.getLong(1) > 0) {
+                throw new IllegalStateException("The database already has users, ingredients or recipes; "
+                        + "the generator assigns ids itself and needs empty tables");
+            }
+        }
+    }
+
+    private static void setSequence(Statement statement, String sequence, int maxId) throws SQLException {
+        if (maxId > 0) {
+            statement.execute("SELECT setval('" + sequence + "', " + maxId + ")");
+        }
+    }
+
+    private static String timestamp(int id, int count) {
+        return Timestamp.valueOf(EPOCH.plusMinutes(SPAN_MINUTES * id / Math.max(count, 1))).toString();
+    }
+
+    // Knuth's method; fine for the small means used here
+    private static int poisson(double mean, SplittableRandom random) {
+        if (mean <= 0) {
+            return 0;
+        }
+        double limit = Math.exp(-mean);
+        double product = random.nextDouble();
+        int k = 0;
+        while (product > limit) {
+            k++;
+            product *= random.nextDouble();
+        }
+        return k;
+    }
+
+    private static long gcd(long a, long b) {
+        return b == 0 ? a : gcd(b, a % b);
+    }
+
+    private static void log(String format, Object... args) {
+        System.out.printf("[dataset] " + format + "%n", args);
+    }
+}
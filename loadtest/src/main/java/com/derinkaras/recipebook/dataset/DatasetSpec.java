@@ -0,0 +1,37 @@
+package com.derinkaras.recipebook.dataset;
+
+import java.util.function.Function;
+
+// Shape of a generated catalog. The same spec and seed always produce the same rows.
+//
+//   ownerExponent       Zipf exponent of recipes per owner (higher = more concentrated)
+//   ingredientExponent  Zipf exponent of how often each ingredient is used
+//   profileRatio        share of users that have a user_profile row
+public record DatasetSpec(
+        long seed,
+        int users,
+        double profileRatio,
+        int ingredients,
+        int recipes,
+        double meanIngredientsPerRecipe,
+        double ownerExponent,
+        double ingredientExponent
+) {
+    // Reads <prefix>users, <prefix>recipes, ... through the given lookup (null = default)
+    public static DatasetSpec from(String prefix, Function<String, String> properties) {
+        return new DatasetSpec(
+                Long.parseLong(value(properties, prefix + "seed", "42")),
+                Integer.parseInt(value(properties, prefix + "users", "100000")),
+                Double.parseDouble(value(properties, prefix + "profile-ratio", "0.6")),
+                Integer.parseInt(value(properties, prefix + "ingredients", "5000")),
+                Integer.parseInt(value(properties, prefix + "recipes", "500000")),
+                Double.parseDouble(value(properties, prefix + "mean-ingredients-per-recipe", "9")),
+                Double.parseDouble(value(properties, prefix + "owner-exponent", "1.1")),
+                Double.parseDouble(value(properties, prefix + "ingredient-exponent", "1.0")));
+    }
+
+    private static String value(Function<String, String> properties, String name, String defaultValue) {
+        String value = properties.apply(name);
+        return value == null || value.isBlank() ? defaultValue : value.trim();
+    }
+}
@@ -0,0 +1,102 @@
+package com.derinkaras.recipebook.loadtest;
+
+import com.derinkaras.recipebook.dataset.CatalogText;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+
+// Seeds the database through the public API (so the in-memory indexes and caches see the data
+// exactly as in production) and returns the ids that now exist.
+final class ApiSeeder {
+
+    private static final int CONCURRENCY = 32;
+    private static final int BULK_SIZE = 1000;
+
+    private final HttpClient http;
+    private final String baseUrl;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    ApiSeeder(HttpClient http, String baseUrl) {
+        this.http = http;
+        this.baseUrl = baseUrl;
+    }
+
+    SeedData seed(int users, int ingredients, int recipes) throws Exception {
+        List<String> names = new ArrayList<>();
+        List<Long> ingredientIds = new ArrayList<>();
+        for (int from = 0; from < ingredients; from += BULK_SIZE) {
+            List<String> chunk = new ArrayList<>();
+            for (int i = from; i < Math.min(ingredients, from + BULK_SIZE); i++) {
+                chunk.add(CatalogText.ingredientName(i + 1));
+            }
+            JsonNode resolved = post("/api/v1/ingredient/bulk", objectMapper.writeValueAsString(Map.of("names", chunk)));
+            for (Iterator<Map.Entry<String, JsonNode>> it = resolved.fields(); it.hasNext(); ) {
+                Map.Entry<String, JsonNode> entry = it.next();
+                names.add(entry.getKey());
+                ingredientIds.add(entry.getValue().asLong());
+            }
+        }
+
+        long[] userIds = createAll(users, i -> {
+            String name = "seed-user-" + i;
+            return post("/api/v1/user", "{\"username\":\"" + name + "\",\"email\":\"" + name
+                    + "@example.com\",\"password\":\"load-test-password\"}").get("id").asLong();
+        });
+        SeedData partial = new SeedData(userIds, new long[0], toArray(ingredientIds), names.toArray(new String[0]));
+        long[] recipeIds = createAll(recipes, i ->
+                post("/api/v1/recipe", Endpoint.recipeJson(partial, ThreadLocalRandom.current())).get("id").asLong());
+        return new SeedData(userIds, recipeIds, partial.ingredientIds(), partial.ingredientNames());
+    }
+
+    private long[] createAll(int count, IdCreator creator) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(CONCURRENCY);
+        try {
+            List<Future<Long>> futures = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                int index = i;
+                futures.add(executor.submit(() -> creator.create(index)));
+            }
+            long[] ids = new long[count];
+            for (int i = 0; i < count; i++) {
+                ids[i] = futures.get(i).get();
+            }
+            return ids;
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private JsonNode post(String path, String body) throws IOException, InterruptedException {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .build();
+        HttpResponse<String> response = http.send(request, HttpResponse.BodyHandlers.ofString());
+        if (response.statusCode() >= 400) {
+            throw new IllegalStateException("Seeding " + path + " failed with " + response.statusCode() + ": " + response.body());
+        }
+        return objectMapper.readTree(response.body());
+    }
+
+    private static long[] toArray(List<Long> values) {
+        return values.stream().mapToLong(Long::longValue).toArray();
+    }
+
+    @FunctionalInterface
+    private interface IdCreator {
+        long create(int index) throws Exception;
+    }
+}
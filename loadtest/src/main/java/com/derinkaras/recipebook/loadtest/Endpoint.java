@@ -0,0 +1,99 @@
+package com.derinkaras.recipebook.loadtest;
+
+import com.derinkaras.recipebook.dataset.CatalogText;
+
+import java.net.URI;
+import java.net.http.HttpRequest;
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+// The operations of the request mix. key() is the name used in loadtest.properties
+// (loadtest.mix.<key>, loadtest.slo.<key>.*) and in the report.
+enum Endpoint {
+    RECIPE_GET("recipe.get"),
+    RECIPE_PAGE("recipe.page"),
+    RECIPE_SEARCH("recipe.search"),
+    RECIPE_CREATE("recipe.create"),
+    RECIPE_PATCH("recipe.patch"),
+    USER_GET("user.get"),
+    USER_DASHBOARD("user.dashboard"),
+    USER_CREATE("user.create"),
+    INGREDIENT_LIST("ingredient.list"),
+    INGREDIENT_AUTOCOMPLETE("ingredient.autocomplete");
+
+    private static final Duration TIMEOUT = Duration.ofSeconds(30);
+    // Makes created usernames unique within a run and across runs against the same database
+    private static final String RUN_ID = Long.toString(System.currentTimeMillis(), 36);
+    private static final AtomicLong createdUsers = new AtomicLong();
+
+    private final String key;
+
+    Endpoint(String key) {
+        this.key = key;
+    }
+
+    String key() {
+        return key;
+    }
+
+    HttpRequest request(String baseUrl, SeedData seed) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        return switch (this) {
+            case RECIPE_GET -> get(baseUrl + "/api/v1/recipe/" + pick(seed.recipeIds(), random));
+            case RECIPE_PAGE -> get(baseUrl + "/api/v1/recipe?limit=20");
+            case RECIPE_SEARCH -> get(baseUrl + "/api/v1/recipe/search?limit=20&q=" + CatalogText.searchWord(random));
+            case RECIPE_CREATE -> json(baseUrl + "/api/v1/recipe", "POST", recipeJson(seed, random));
+            case RECIPE_PATCH -> json(baseUrl + "/api/v1/recipe/" + pick(seed.recipeIds(), random), "PATCH",
+                    "{\"title\":\"" + CatalogText.title(random) + "\"}");
+            case USER_GET -> get(baseUrl + "/api/v1/user/" + pick(seed.userIds(), random));
+            case USER_DASHBOARD -> get(baseUrl + "/api/v1/user/" + pick(seed.userIds(), random) + "/dashboard");
+            case USER_CREATE -> {
+                String name = "lt-" + RUN_ID + "-" + createdUsers.incrementAndGet();
+                yield json(baseUrl + "/api/v1/user", "POST",
+                        "{\"username\":\"" + name + "\",\"email\":\"" + name + "@example.com\",\"password\":\"load-test-password\"}");
+            }
+            case INGREDIENT_LIST -> get(baseUrl + "/api/v1/ingredient");
+            case INGREDIENT_AUTOCOMPLETE -> {
+                String name = pick(seed.ingredientNames(), random);
+                yield get(baseUrl + "/api/v1/ingredient/autocomplete?prefix=" + name.substring(0, Math.min(3, name.length())));
+            }
+        };
+    }
+
+    static String recipeJson(SeedData seed, ThreadLocalRandom random) {
+        StringBuilder ingredients = new StringBuilder();
+        int count = 3 + random.nextInt(8);
+        for (int i = 0; i < count; i++) {
+            if (i > 0) {
+                ingredients.append(',');
+            }
+            ingredients.append(pick(seed.ingredientIds(), random));
+        }
+        return "{\"title\":\"" + CatalogText.title(random) + "\""
+                + ",\"description\":\"" + CatalogText.description(random) + "\""
+                + ",\"difficulty\":\"" + CatalogText.difficulty(random) + "\""
+                + ",\"ownerId\":" + pick(seed.userIds(), random)
+                + ",\"ingredientIds\":[" + ingredients + "]}";
+    }
+
+    private static HttpRequest get(String url) {
+        return HttpRequest.newBuilder(URI.create(url)).timeout(TIMEOUT).GET().build();
+    }
+
+    private static HttpRequest json(String url, String method, String body) {
+        return HttpRequest.newBuilder(URI.create(url))
+                .timeout(TIMEOUT)
+                .header("Content-Type", "application/json")
+                .method(method, HttpRequest.BodyPublishers.ofString(body))
+                .build();
+    }
+
+    private static long pick(long[] values, ThreadLocalRandom random) {
+        return values[random.nextInt(values.length)];
+    }
+
+    private static String pick(String[] values, ThreadLocalRandom random) {
+        return values[random.nextInt(values.length)];
+    }
+}
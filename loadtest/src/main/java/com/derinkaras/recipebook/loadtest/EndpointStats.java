@@ -0,0 +1,82 @@
+package com.derinkaras.recipebook.loadtest;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+// Latencies (microseconds, 3 significant digits, up to 1 minute) and outcome counts of one
+// endpoint. Written from the HTTP client's completion threads.
+//
+// Every scheduled request ends up in exactly one of ok, failed (error status, transport error,
+// or still unanswered when the run gave up waiting) and dropped (never sent). total() counts
+// all three, which is what the error rate is taken over; only ok() is throughput. Failures are
+// also counted by cause ("HTTP 404", "HttpTimeoutException", ...) for the report.
+final class EndpointStats {
+
+    private final Histogram latencies = new ConcurrentHistogram(TimeUnit.MINUTES.toMicros(1), 3);
+    private final LongAdder ok = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+    private final LongAdder dropped = new LongAdder();
+    private final Map<String, LongAdder> failureCauses = new ConcurrentHashMap<>();
+
+    void recordOk(long latencyNanos) {
+        recordLatency(latencyNanos);
+        ok.increment();
+    }
+
+    void recordFailure(long latencyNanos, String cause) {
+        recordLatency(latencyNanos);
+        failed.increment();
+        failureCauses.computeIfAbsent(cause, c -> new LongAdder()).increment();
+    }
+
+    private void recordLatency(long latencyNanos) {
+        latencies.recordValue(Math.min(TimeUnit.NANOSECONDS.toMicros(latencyNanos), latencies.getHighestTrackableValue()));
+    }
+
+    // Requests never sent because max-in-flight was reached
+    void drop() {
+        dropped.increment();
+    }
+
+    Histogram latencies() {
+        return latencies;
+    }
+
+    long ok() {
+        return ok.sum();
+    }
+
+    long failed() {
+        return failed.sum();
+    }
+
+    long dropped() {
+        return dropped.sum();
+    }
+
+    // Sorted by cause, for stable output
+    Map<String, Long> failureCauses() {
+        Map<String, Long> causes = new TreeMap<>();
+        failureCauses.forEach((cause, count) -> causes.put(cause, count.sum()));
+        return causes;
+    }
+
+    long total() {
+        return ok() + failed() + dropped();
+    }
+
+    double errorRate() {
+        long total = total();
+        return total == 0 ? 0 : (failed() + dropped()) / (double) total;
+    }
+
+    double percentileMillis(double percentile) {
+        return latencies.getValueAtPercentile(percentile) / 1000.0;
+    }
+}
@@ -0,0 +1,112 @@
+package com.derinkaras.recipebook.loadtest;
+
+import com.derinkaras.recipebook.RecipeBookApplication;
+import com.derinkaras.recipebook.dataset.DatasetGenerator;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.utility.DockerImageName;
+
+import java.net.http.HttpClient;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+// End-to-end load test (see loadtest/pom.xml for how to run it):
+//   1. starts PostgreSQL in a throwaway container (or, with loadtest.jdbc-url, uses that
+//      database, which must be empty; no Docker needed then)
+//   2. loads a generated, production-shaped catalog with DatasetGenerator (loadtest.dataset.*)
+//   3. boots the application in this JVM against it on a random port; its in-memory indexes are
+//      built from that data at startup, as in production
+//      (with loadtest.seed.mode=api: boots first, then seeds a small catalog through the API)
+//   4. runs the open-model request mix (OpenLoadGenerator): warmup, then the measured period
+//   5. prints throughput and latency percentiles per endpoint, writes the .hgrm distributions to
+//      target/loadtest-results and exits with 1 if any SLO in loadtest.properties was missed
+public class LoadTest {
+
+    public static void main(String[] args) throws Exception {
+        LoadTestConfig config = new LoadTestConfig();
+        List<String> violations;
+        PostgreSQLContainer<?> postgres = null;
+        Database database;
+        if (config.jdbcUrl() == null) {
+            postgres = new PostgreSQLContainer<>(DockerImageName.parse(config.postgresImage()));
+            postgres.start();
+            database = new Database(postgres.getJdbcUrl(), postgres.getUsername(), postgres.getPassword());
+        } else {
+            database = new Database(config.jdbcUrl(), config.jdbcUsername(), config.jdbcPassword());
+        }
+        try {
+            SeedData seed = null;
+            if (config.generatedDataset()) {
+                System.out.println("Generating dataset...");
+                DatasetGenerator.migrateAndGenerate(config.datasetSpec(),
+                        database.url(), database.username(), database.password());
+                seed = SeedData.generated(config.datasetSpec());
+            }
+            ConfigurableApplicationContext app = startApplication(config, database);
+            try {
+                String baseUrl = "http://localhost:" + app.getEnvironment().getProperty("local.server.port");
+                HttpClient http = HttpClient.newBuilder()
+                        .connectTimeout(Duration.ofSeconds(10))
+                        .build();
+
+                if (seed == null) {
+                    System.out.println("Seeding through the API...");
+                    seed = new ApiSeeder(http, baseUrl).seed(
+                            config.seed("users", 200), config.seed("ingredients", 500), config.seed("recipes", 2000));
+                }
+
+                System.out.printf("Running %.1f req/s: %s warmup, %s measured%n",
+                        config.rate(), config.warmup(), config.duration());
+                OpenLoadGenerator generator = new OpenLoadGenerator(http, baseUrl, seed, config.mix(),
+                        config.rate(), config.maxInFlight());
+                Map<Endpoint, EndpointStats> stats = generator.run(config.warmup(), config.duration());
+
+                Report report = new Report(stats, config.duration(), config.rate());
+                report.print(System.out);
+                report.writeHistograms(Path.of("target", "loadtest-results"));
+                violations = report.sloViolations(config);
+            } finally {
+                app.close();
+            }
+        } finally {
+            if (postgres != null) {
+                postgres.stop();
+            }
+        }
+
+        if (!violations.isEmpty()) {
+            System.out.println("SLO violations:");
+            violations.forEach(violation -> System.out.println("  " + violation));
+            System.exit(1);
+        }
+        System.out.println("All SLOs met");
+        System.exit(0);
+    }
+
+    private static ConfigurableApplicationContext startApplication(LoadTestConfig config, Database database) {
+        Map<String, Object> properties = new LinkedHashMap<>();
+        properties.put("spring.datasource.url", database.url());
+        properties.put("spring.datasource.username", database.username());
+        properties.put("spring.datasource.password", database.password());
+        properties.put("server.port", "0");
+        properties.putAll(config.appProperties());
+
+        // As command-line arguments: builder.properties() would only set defaults, which the
+        // application's own application.properties (spring.datasource.url, server.port) override
+        String[] args = properties.entrySet().stream()
+                .map(entry -> "--" + entry.getKey() + "=" + entry.getValue())
+                .toArray(String[]::new);
+        SpringApplicationBuilder builder = new SpringApplicationBuilder(RecipeBookApplication.class, PermissiveSecurity.class);
+        if (!config.appProfiles().isBlank()) {
+            builder.profiles(config.appProfiles().split("\\s*,\\s*"));
+        }
+        return builder.run(args);
+    }
+
+    private record Database(String url, String username, String password) {
+    }
+}
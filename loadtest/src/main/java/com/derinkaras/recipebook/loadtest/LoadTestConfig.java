@@ -0,0 +1,143 @@
+package com.derinkaras.recipebook.loadtest;
+
+import com.derinkaras.recipebook.dataset.DatasetSpec;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Properties;
+
+// Settings from loadtest.properties, with -D system properties taking precedence.
+// Durations accept Spring-style values ("30s", "2m") or plain milliseconds.
+final class LoadTestConfig {
+
+    private static final String PREFIX = "loadtest.";
+
+    private final Properties properties = new Properties();
+
+    LoadTestConfig() throws IOException {
+        try (InputStream in = LoadTestConfig.class.getResourceAsStream("/loadtest.properties")) {
+            if (in != null) {
+                properties.load(in);
+            }
+        }
+        for (String name : System.getProperties().stringPropertyNames()) {
+            if (name.startsWith(PREFIX)) {
+                properties.setProperty(name, System.getProperty(name));
+            }
+        }
+    }
+
+    double rate() {
+        return Double.parseDouble(get("rate", "100"));
+    }
+
+    Duration warmup() {
+        return duration("warmup", "10s");
+    }
+
+    Duration duration() {
+        return duration("duration", "60s");
+    }
+
+    int maxInFlight() {
+        return Integer.parseInt(get("max-in-flight", "2000"));
+    }
+
+    // "generated": DatasetGenerator loads loadtest.dataset.* before the application starts;
+    // "api": a small catalog (loadtest.seed.*) is created through the API after it starts
+    boolean generatedDataset() {
+        String mode = get("seed.mode", "generated");
+        if (!mode.equals("generated") && !mode.equals("api")) {
+            throw new IllegalArgumentException("loadtest.seed.mode must be generated or api: " + mode);
+        }
+        return mode.equals("generated");
+    }
+
+    DatasetSpec datasetSpec() {
+        return DatasetSpec.from(PREFIX + "dataset.", properties::getProperty);
+    }
+
+    int seed(String what, int defaultValue) {
+        return Integer.parseInt(get("seed." + what, String.valueOf(defaultValue)));
+    }
+
+    // An existing database to use instead of a container; null when not set
+    String jdbcUrl() {
+        return get("jdbc-url", null);
+    }
+
+    String jdbcUsername() {
+        return get("jdbc-username", "");
+    }
+
+    String jdbcPassword() {
+        return get("jdbc-password", "");
+    }
+
+    String postgresImage() {
+        return get("postgres-image", "postgres:17-alpine");
+    }
+
+    String appProfiles() {
+        return get("app.profiles", "");
+    }
+
+    // loadtest.app.property.x.y=z -> x.y=z
+    Map<String, Object> appProperties() {
+        String prefix = PREFIX + "app.property.";
+        Map<String, Object> result = new LinkedHashMap<>();
+        for (String name : properties.stringPropertyNames()) {
+            if (name.startsWith(prefix)) {
+                result.put(name.substring(prefix.length()), properties.getProperty(name));
+            }
+        }
+        return result;
+    }
+
+    Map<Endpoint, Integer> mix() {
+        Map<Endpoint, Integer> mix = new EnumMap<>(Endpoint.class);
+        for (Endpoint endpoint : Endpoint.values()) {
+            int weight = Integer.parseInt(get("mix." + endpoint.key(), "0"));
+            if (weight > 0) {
+                mix.put(endpoint, weight);
+            }
+        }
+        if (mix.isEmpty()) {
+            throw new IllegalArgumentException("loadtest.mix.* gives no endpoint a positive weight");
+        }
+        return mix;
+    }
+
+    // Per-endpoint SLO value, falling back to loadtest.slo.default.<name>; NaN when neither is set
+    double slo(Endpoint endpoint, String name) {
+        String value = get("slo." + endpoint.key() + "." + name, get("slo.default." + name, null));
+        return value == null ? Double.NaN : Double.parseDouble(value);
+    }
+
+    double minThroughputRatio() {
+        return Double.parseDouble(get("slo.min-throughput-ratio", "0"));
+    }
+
+    private String get(String name, String defaultValue) {
+        String value = properties.getProperty(PREFIX + name);
+        return value == null || value.isBlank() ? defaultValue : value.trim();
+    }
+
+    private Duration duration(String name, String defaultValue) {
+        String value = get(name, defaultValue).toLowerCase();
+        if (value.endsWith("ms")) {
+            return Duration.ofMillis(Long.parseLong(value.substring(0, value.length() - 2)));
+        }
+        if (value.endsWith("s")) {
+            return Duration.ofSeconds(Long.parseLong(value.substring(0, value.length() - 1)));
+        }
+        if (value.endsWith("m")) {
+            return Duration.ofMinutes(Long.parseLong(value.substring(0, value.length() - 1)));
+        }
+        return Duration.ofMillis(Long.parseLong(value));
+    }
+}
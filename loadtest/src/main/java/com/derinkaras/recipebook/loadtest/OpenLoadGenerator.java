@@ -0,0 +1,153 @@
+package com.derinkaras.recipebook.loadtest;
+
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+// Open-model load: request i is due at start + i / rate, independent of how long earlier
+// requests take, and is sent asynchronously so a slow response never delays the next one.
+// Latency is measured from the due time, not from when the request actually went out, so if
+// the generator itself falls behind, that delay is charged to the server instead of being
+// hidden (coordinated omission).
+//
+// Requests due during the warmup are sent but not recorded. After the last request is sent the
+// generator waits up to DRAIN_TIMEOUT for the outstanding ones; whatever is still unanswered
+// then is recorded as failed, with the latency it had reached, so a server that stops
+// answering cannot shrink its own error count and tail by simply never replying.
+final class OpenLoadGenerator {
+
+    private static final Duration DRAIN_TIMEOUT = Duration.ofSeconds(30);
+
+    private final HttpClient http;
+    private final String baseUrl;
+    private final SeedData seed;
+    private final Endpoint[] endpoints;
+    private final int[] cumulativeWeights;
+    private final double rate;
+    private final int maxInFlight;
+    private final AtomicInteger inFlight = new AtomicInteger();
+    // Measured requests not yet recorded; whoever removes one (completion or drain) records it
+    private final Set<Pending> pending = ConcurrentHashMap.newKeySet();
+
+    OpenLoadGenerator(HttpClient http, String baseUrl, SeedData seed, Map<Endpoint, Integer> mix,
+                      double rate, int maxInFlight) {
+        this.http = http;
+        this.baseUrl = baseUrl;
+        this.seed = seed;
+        this.rate = rate;
+        this.maxInFlight = maxInFlight;
+        this.endpoints = mix.keySet().toArray(new Endpoint[0]);
+        this.cumulativeWeights = new int[endpoints.length];
+        int total = 0;
+        for (int i = 0; i < endpoints.length; i++) {
+            total += mix.get(endpoints[i]);
+            cumulativeWeights[i] = total;
+        }
+    }
+
+    Map<Endpoint, EndpointStats> run(Duration warmup, Duration duration) {
+        Map<Endpoint, EndpointStats> stats = new EnumMap<>(Endpoint.class);
+        for (Endpoint endpoint : endpoints) {
+            stats.put(endpoint, new EndpointStats());
+        }
+        double intervalNanos = TimeUnit.SECONDS.toNanos(1) / rate;
+        long start = System.nanoTime();
+        long measureFrom = start + warmup.toNanos();
+        long end = measureFrom + duration.toNanos();
+
+        for (long i = 0; ; i++) {
+            long due = start + (long) (i * intervalNanos);
+            if (due >= end) {
+                break;
+            }
+            long wait;
+            while ((wait = due - System.nanoTime()) > 0) {
+                LockSupport.parkNanos(wait);
+            }
+            Endpoint endpoint = pickEndpoint();
+            EndpointStats target = due >= measureFrom ? stats.get(endpoint) : null;
+            if (inFlight.get() >= maxInFlight) {
+                if (target != null) {
+                    target.drop();
+                }
+                continue;
+            }
+            send(endpoint.request(baseUrl, seed), due, target);
+        }
+        awaitInFlight();
+        return stats;
+    }
+
+    private void send(HttpRequest request, long due, EndpointStats target) {
+        Pending measured = target == null ? null : new Pending(target, due);
+        if (measured != null) {
+            pending.add(measured);
+        }
+        inFlight.incrementAndGet();
+        http.sendAsync(request, HttpResponse.BodyHandlers.discarding())
+                .whenComplete((response, failure) -> {
+                    inFlight.decrementAndGet();
+                    if (measured != null && pending.remove(measured)) {
+                        long latency = System.nanoTime() - due;
+                        if (failure != null) {
+                            target.recordFailure(latency, rootCause(failure).getClass().getSimpleName());
+                        } else if (response.statusCode() >= 400) {
+                            target.recordFailure(latency, "HTTP " + response.statusCode());
+                        } else {
+                            target.recordOk(latency);
+                        }
+                    }
+                });
+    }
+
+    private Endpoint pickEndpoint() {
+        int roll = ThreadLocalRandom.current().nextInt(cumulativeWeights[cumulativeWeights.length - 1]);
+        for (int i = 0; i < cumulativeWeights.length; i++) {
+            if (roll < cumulativeWeights[i]) {
+                return endpoints[i];
+            }
+        }
+        return endpoints[endpoints.length - 1];
+    }
+
+    private void awaitInFlight() {
+        long deadline = System.nanoTime() + DRAIN_TIMEOUT.toNanos();
+        while (inFlight.get() > 0 && System.nanoTime() < deadline) {
+            LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(10));
+        }
+        long now = System.nanoTime();
+        for (Pending measured : pending) {
+            if (pending.remove(measured)) {
+                measured.target.recordFailure(now - measured.due, "no response after drain timeout");
+            }
+        }
+    }
+
+    // sendAsync wraps what went wrong in CompletionException
+    private static Throwable rootCause(Throwable failure) {
+        while (failure.getCause() != null && failure.getCause() != failure) {
+            failure = failure.getCause();
+        }
+        return failure;
+    }
+
+    // Identity equality on purpose: each instance is one request
+    private static final class Pending {
+        final EndpointStats target;
+        final long due;
+
+        Pending(EndpointStats target, long due) {
+            this.target = target;
+            this.due = due;
+        }
+    }
+}
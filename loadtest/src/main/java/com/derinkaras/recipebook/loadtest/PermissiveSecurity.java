@@ -0,0 +1,20 @@
+package com.derinkaras.recipebook.loadtest;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.security.config.annotation.web.builders.HttpSecurity;
+import org.springframework.security.web.SecurityFilterChain;
+
+// Extra configuration source for the application under test: lets every request through
+// without credentials or CSRF tokens, replacing Spring Boot's default basic-auth chain.
+// Deliberately not a @Configuration, so the application's component scan never picks it up;
+// LoadTest passes it to SpringApplicationBuilder explicitly.
+public class PermissiveSecurity {
+
+    @Bean
+    SecurityFilterChain loadTestSecurityFilterChain(HttpSecurity http) throws Exception {
+        return http
+                .authorizeHttpRequests(requests -> requests.anyRequest().permitAll())
+                .csrf(csrf -> csrf.disable())
+                .build();
+    }
+}
@@ -0,0 +1,90 @@
+package com.derinkaras.recipebook.loadtest;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+// Prints the per-endpoint results, writes each endpoint's full latency distribution as an
+// .hgrm file (loadable in HdrHistogram's plotter) and checks the SLOs.
+//
+// Throughput (ok/s and the min-throughput-ratio SLO) counts successful completions only: a
+// server that answers every request with a 503, or a generator that drops requests at
+// max-in-flight, must not look like it kept up with the target rate.
+final class Report {
+
+    private final Map<Endpoint, EndpointStats> stats;
+    private final Duration duration;
+    private final double targetRate;
+
+    Report(Map<Endpoint, EndpointStats> stats, Duration duration, double targetRate) {
+        this.stats = stats;
+        this.duration = duration;
+        this.targetRate = targetRate;
+    }
+
+    void print(PrintStream out) {
+        out.printf("%-26s %9s %9s %8s %8s %9s %9s %9s %9s %9s%n",
+                "endpoint", "requests", "ok/s", "errors", "dropped", "p50 ms", "p95 ms", "p99 ms", "p99.9 ms", "max ms");
+        long total = 0;
+        long ok = 0;
+        for (Map.Entry<Endpoint, EndpointStats> entry : stats.entrySet()) {
+            EndpointStats s = entry.getValue();
+            total += s.total();
+            ok += s.ok();
+            out.printf("%-26s %9d %9.1f %8d %8d %9.1f %9.1f %9.1f %9.1f %9.1f%n",
+                    entry.getKey().key(), s.total(), s.ok() / seconds(), s.failed(), s.dropped(),
+                    s.percentileMillis(50), s.percentileMillis(95), s.percentileMillis(99),
+                    s.percentileMillis(99.9), s.latencies().getMaxValue() / 1000.0);
+        }
+        out.printf("total %d requests, %d ok, %.1f ok/s (target %.1f req/s)%n", total, ok, ok / seconds(), targetRate);
+        for (Map.Entry<Endpoint, EndpointStats> entry : stats.entrySet()) {
+            entry.getValue().failureCauses().forEach((cause, count) ->
+                    out.printf("  %s failed %d x %s%n", entry.getKey().key(), count, cause));
+        }
+    }
+
+    void writeHistograms(Path directory) throws IOException {
+        Files.createDirectories(directory);
+        for (Map.Entry<Endpoint, EndpointStats> entry : stats.entrySet()) {
+            try (PrintStream out = new PrintStream(Files.newOutputStream(directory.resolve(entry.getKey().key() + ".hgrm")))) {
+                // values are recorded in microseconds; 1000.0 scales the output to milliseconds
+                entry.getValue().latencies().outputPercentileDistribution(out, 1000.0);
+            }
+        }
+    }
+
+    // Empty when every configured SLO holds
+    List<String> sloViolations(LoadTestConfig config) {
+        List<String> violations = new ArrayList<>();
+        long ok = 0;
+        for (Map.Entry<Endpoint, EndpointStats> entry : stats.entrySet()) {
+            Endpoint endpoint = entry.getKey();
+            EndpointStats s = entry.getValue();
+            ok += s.ok();
+            check(violations, endpoint, "p50-ms", s.percentileMillis(50), config.slo(endpoint, "p50-ms"));
+            check(violations, endpoint, "p99-ms", s.percentileMillis(99), config.slo(endpoint, "p99-ms"));
+            check(violations, endpoint, "max-error-rate", s.errorRate(), config.slo(endpoint, "max-error-rate"));
+        }
+        double ratio = ok / seconds() / targetRate;
+        if (ratio < config.minThroughputRatio()) {
+            violations.add(String.format("throughput %.1f ok/s is %.0f%% of the target %.1f req/s (minimum %.0f%%)",
+                    ok / seconds(), ratio * 100, targetRate, config.minThroughputRatio() * 100));
+        }
+        return violations;
+    }
+
+    private static void check(List<String> violations, Endpoint endpoint, String name, double actual, double limit) {
+        if (!Double.isNaN(limit) && actual > limit) {
+            violations.add(String.format("%s %s = %.3f exceeds %.3f", endpoint.key(), name, actual, limit));
+        }
+    }
+
+    private double seconds() {
+        return duration.toMillis() / 1000.0;
+    }
+}
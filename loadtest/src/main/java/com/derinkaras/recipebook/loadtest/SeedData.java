@@ -0,0 +1,25 @@
+package com.derinkaras.recipebook.loadtest;
+
+import com.derinkaras.recipebook.dataset.CatalogText;
+import com.derinkaras.recipebook.dataset.DatasetSpec;
+
+import java.util.stream.IntStream;
+import java.util.stream.LongStream;
+
+// Ids and names that exist in the database once seeding is done; the workload only ever asks
+// for these, so read endpoints measure hits rather than 404s.
+record SeedData(
+        long[] userIds,
+        long[] recipeIds,
+        long[] ingredientIds,
+        String[] ingredientNames
+) {
+    // What DatasetGenerator wrote for this spec: ids 1..n of every table
+    static SeedData generated(DatasetSpec spec) {
+        return new SeedData(
+                LongStream.rangeClosed(1, spec.users()).toArray(),
+                LongStream.rangeClosed(1, spec.recipes()).toArray(),
+                LongStream.rangeClosed(1, spec.ingredients()).toArray(),
+                IntStream.rangeClosed(1, spec.ingredients()).mapToObj(CatalogText::ingredientName).toArray(String[]::new));
+    }
+}
@@ -0,0 +1,14 @@
+package com.derinkaras.recipebook.cache;
+
+// Point-in-time counters of a cache, returned as JSON by the stats endpoint.
+// evictions counts entries dropped for size; expirations those dropped because their TTL ran out.
+public record CacheStats(
+        long size,
+        long maxSize,
+        long hits,
+        long misses,
+        long evictions,
+        long expirations,
+        double hitRatio
+) {
+}
@@ -0,0 +1,71 @@
+package com.derinkaras.recipebook.cache;
+
+import com.derinkaras.recipebook.model.Recipe;
+import com.derinkaras.recipebook.model.User;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.Cache;
+import org.hibernate.SessionFactory;
+import org.hibernate.cache.spi.RegionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+// Keeps Hibernate's second-level cache honest around the writes that bypass Hibernate.
+//
+// Entity writes through a repository update the cache themselves. Plain JDBC writes
+// (JdbcTemplate in IngredientService.resolveNames, UserDeletionService, ...) are invisible
+// to Hibernate, so those paths call this after they commit.
+// Also reports per-region statistics (GET /api/v1/cache/regions).
+@Component
+public class HibernateCacheEvictor {
+
+    static final String RECIPE_INGREDIENTS = Recipe.class.getName() + ".ingredients";
+
+    private final Cache cache;
+    private final Statistics statistics;
+
+    public HibernateCacheEvictor(EntityManagerFactory entityManagerFactory) {
+        SessionFactory sessionFactory = entityManagerFactory.unwrap(SessionFactory.class);
+        this.cache = sessionFactory.getCache();
+        this.statistics = sessionFactory.getStatistics();
+    }
+
+    public void evictUser(Long userId) {
+        cache.evictEntityData(User.class, userId);
+    }
+
+    public void evictRecipeIngredients(Collection<Long> recipeIds) {
+        for (Long recipeId : recipeIds) {
+            cache.evictCollectionData(RECIPE_INGREDIENTS, recipeId);
+        }
+    }
+
+    // Cached query results (e.g. the ingredient list) after rows were inserted behind Hibernate's back
+    public void evictQueryResults() {
+        cache.evictDefaultQueryRegion();
+    }
+
+    public List<RegionStats> regionStats() {
+        List<RegionStats> result = new ArrayList<>();
+        for (String region : statistics.getSecondLevelCacheRegionNames()) {
+            CacheRegionStatistics stats = statistics.getDomainDataRegionStatistics(region);
+            result.add(new RegionStats(region, stats.getHitCount(), stats.getMissCount(),
+                    stats.getPutCount(), stats.getElementCountInMemory()));
+        }
+        CacheRegionStatistics queries = statistics.getQueryRegionStatistics(
+                RegionFactory.DEFAULT_QUERY_RESULTS_REGION_UNQUALIFIED_NAME);
+        if (queries != null) {
+            result.add(new RegionStats(RegionFactory.DEFAULT_QUERY_RESULTS_REGION_UNQUALIFIED_NAME,
+                    queries.getHitCount(), queries.getMissCount(),
+                    queries.getPutCount(), queries.getElementCountInMemory()));
+        }
+        return result;
+    }
+
+    public record RegionStats(String region, long hits, long misses, long puts, long size) {
+    }
+}
@@ -0,0 +1,132 @@
+package com.derinkaras.recipebook.cache;
+
+import com.derinkaras.recipebook.dto.recipe.RecipeDto;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+// Bounded read-through cache of RecipeDto by recipe id, used by RecipeService.getById.
+//
+// - Size bound: a LinkedHashMap in access order is an LRU list; once maxSize is exceeded the
+//   least recently read recipe is dropped (removeEldestEntry).
+// - TTL: every entry remembers when it was loaded and is treated as a miss after ttl, so even
+//   a write this instance never heard about (another node, a manual SQL fix) ages out.
+// - Invalidation: the write paths call invalidate() after their transaction commits
+//   (recipe update/delete through RecipeIndexUpdater, ingredient delete in IngredientService).
+//
+// A read that loaded the old row while a write was committing could put that stale DTO back
+// right after the invalidation. To prevent that, every invalidation bumps a generation counter
+// and a loader only stores its result if no invalidation happened while it was loading.
+@Component
+public class RecipeCache {
+
+    private final int maxSize;
+    private final long ttlNanos;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+    private final LongAdder expirations = new LongAdder();
+    private final AtomicLong generation = new AtomicLong();
+
+    // Access-ordered LinkedHashMap mutates even on get(), so all access is synchronized on it
+    private final LinkedHashMap<Long, Entry> entries;
+
+    public RecipeCache(@Value("${recipebook.cache.recipe.max-size:10000}") int maxSize,
+                       @Value("${recipebook.cache.recipe.ttl:10m}") Duration ttl) {
+        this.maxSize = maxSize;
+        this.ttlNanos = ttl.toNanos();
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, Entry> eldest) {
+                if (size() > RecipeCache.this.maxSize) {
+                    evictions.increment();
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    // Returns the cached DTO, or calls loader (outside the lock) and caches its result
+    public RecipeDto get(Long recipeId, Supplier<RecipeDto> loader) {
+        RecipeDto cached = getIfPresent(recipeId);
+        if (cached != null) {
+            return cached;
+        }
+        long generationBeforeLoad = generation.get();
+        RecipeDto loaded = loader.get();
+        if (loaded != null) {
+            synchronized (entries) {
+                if (generation.get() == generationBeforeLoad) {
+                    entries.put(recipeId, new Entry(loaded, System.nanoTime() + ttlNanos));
+                }
+            }
+        }
+        return loaded;
+    }
+
+    // Counts a hit or a miss
+    public RecipeDto getIfPresent(Long recipeId) {
+        synchronized (entries) {
+            Entry entry = entries.get(recipeId);
+            if (entry != null && entry.expiresAt() - System.nanoTime() > 0) {
+                hits.increment();
+                return entry.value();
+            }
+            if (entry != null) {
+                entries.remove(recipeId);
+                expirations.increment();
+            }
+        }
+        misses.increment();
+        return null;
+    }
+
+    // Like getIfPresent, but does not count towards the hit/miss stats. For callers that only
+    // peek at a cached value (e.g. its version) and may call get() right after.
+    public RecipeDto peek(Long recipeId) {
+        synchronized (entries) {
+            Entry entry = entries.get(recipeId);
+            return (entry != null && entry.expiresAt() - System.nanoTime() > 0) ? entry.value() : null;
+        }
+    }
+
+    public void invalidate(Long recipeId) {
+        synchronized (entries) {
+            generation.incrementAndGet();
+            entries.remove(recipeId);
+        }
+    }
+
+    public void invalidateAll(Collection<Long> recipeIds) {
+        synchronized (entries) {
+            generation.incrementAndGet();
+            for (Long recipeId : recipeIds) {
+                entries.remove(recipeId);
+            }
+        }
+    }
+
+    public CacheStats stats() {
+        long size;
+        synchronized (entries) {
+            size = entries.size();
+        }
+        long hitCount = hits.sum();
+        long missCount = misses.sum();
+        long lookups = hitCount + missCount;
+        return new CacheStats(size, maxSize, hitCount, missCount, evictions.sum(), expirations.sum(),
+                lookups == 0 ? 0 : (double) hitCount / lookups);
+    }
+
+    private record Entry(RecipeDto value, long expiresAt) {
+    }
+}
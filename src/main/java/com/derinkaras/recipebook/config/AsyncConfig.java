@@ -0,0 +1,13 @@
+package com.derinkaras.recipebook.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableAsync;
+
+// Enables @Async methods. They run on Spring Boot's applicationTaskExecutor, the same executor
+// that runs async MVC work such as the streaming export. With spring.threads.virtual.enabled
+// (the "virtual" profile) Boot makes that executor start one virtual thread per task;
+// otherwise it is a bounded pool of platform threads (spring.task.execution.pool.*).
+@Configuration
+@EnableAsync
+public class AsyncConfig {
+}
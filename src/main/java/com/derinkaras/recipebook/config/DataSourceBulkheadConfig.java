@@ -0,0 +1,39 @@
+package com.derinkaras.recipebook.config;
+
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+
+// Wraps the auto-configured (Hikari) DataSource in a BulkheadDataSource.
+//
+// Turned on by recipebook.datasource.bulkhead.enabled, which the "virtual" profile sets
+// (application-virtual.properties). By default the permits equal the Hikari pool size, so the
+// semaphore, not the pool, is where excess requests wait.
+@Configuration
+@ConditionalOnProperty(name = "recipebook.datasource.bulkhead.enabled", havingValue = "true")
+public class DataSourceBulkheadConfig {
+
+    // static: a BeanPostProcessor has to exist before the other beans are created, so it must
+    // not depend on this configuration instance
+    @Bean
+    static BeanPostProcessor dataSourceBulkheadPostProcessor(Environment environment) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof DataSource dataSource && !(bean instanceof BulkheadDataSource)) {
+                    int poolSize = environment.getProperty("spring.datasource.hikari.maximum-pool-size", Integer.class, 10);
+                    int maxConcurrent = environment.getProperty("recipebook.datasource.bulkhead.max-concurrent", Integer.class, poolSize);
+                    Duration acquireTimeout = environment.getProperty("recipebook.datasource.bulkhead.acquire-timeout",
+                            Duration.class, Duration.ofSeconds(2));
+                    return new BulkheadDataSource(dataSource, maxConcurrent, acquireTimeout);
+                }
+                return bean;
+            }
+        };
+    }
+}
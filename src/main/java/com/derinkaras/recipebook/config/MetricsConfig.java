@@ -0,0 +1,132 @@
+package com.derinkaras.recipebook.config;
+
+import com.derinkaras.recipebook.cache.RecipeCache;
+import com.derinkaras.recipebook.metrics.DbCountingHibernateHooks;
+import com.derinkaras.recipebook.metrics.RequestDbMetricsFilter;
+import com.derinkaras.recipebook.metrics.StatementCountingDataSource;
+import com.derinkaras.recipebook.service.PasswordHashingService;
+import io.micrometer.core.aop.TimedAspect;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+
+// Application metrics on top of what Spring Boot Actuator already publishes
+// (http.server.requests, hikaricp.*, hibernate.* statistics, JVM), all scraped from
+// GET /actuator/prometheus:
+//   - recipebook.service          timer per service method (@Timed on the services)
+//   - recipebook.request.*        SQL statements / entity loads per request
+//   - recipebook.recipe.cache.*   the RecipeDto cache
+//   - recipebook.hashing.*        the password hashing pool
+//   - recipebook.bulkhead.*       the connection bulkhead, when enabled
+// Gauges and function counters read the existing stats() methods only when scraped, so they
+// add nothing to the request path.
+@Configuration
+public class MetricsConfig {
+
+    // Makes @Timed work on Spring beans (Boot doesn't register the aspect itself)
+    @Bean
+    TimedAspect timedAspect(MeterRegistry meterRegistry) {
+        return new TimedAspect(meterRegistry);
+    }
+
+    @Bean
+    DbCountingHibernateHooks dbCountingHibernateHooks() {
+        return new DbCountingHibernateHooks();
+    }
+
+    @Bean
+    HibernatePropertiesCustomizer dbCountingHibernateCustomizer(DbCountingHibernateHooks hooks) {
+        return properties -> properties.put(AvailableSettings.INTERCEPTOR, hooks);
+    }
+
+    // Statements are counted on the DataSource so JdbcTemplate calls are included. Same
+    // BeanPostProcessor approach as SlowQueryLogConfig; the wrappers nest in either order.
+    @Bean
+    static BeanPostProcessor statementCountingPostProcessor() {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof DataSource dataSource && !(bean instanceof StatementCountingDataSource)) {
+                    return new StatementCountingDataSource(dataSource);
+                }
+                return bean;
+            }
+        };
+    }
+
+    @Bean
+    FilterRegistrationBean<RequestDbMetricsFilter> requestDbMetricsFilter(MeterRegistry meterRegistry) {
+        FilterRegistrationBean<RequestDbMetricsFilter> registration =
+                new FilterRegistrationBean<>(new RequestDbMetricsFilter(meterRegistry));
+        registration.addUrlPatterns("/api/*");
+        return registration;
+    }
+
+    @Bean
+    MeterBinder recipeCacheMetrics(RecipeCache recipeCache) {
+        return registry -> {
+            Gauge.builder("recipebook.recipe.cache.size", recipeCache, c -> c.stats().size())
+                    .register(registry);
+            FunctionCounter.builder("recipebook.recipe.cache.requests", recipeCache, c -> c.stats().hits())
+                    .tag("result", "hit")
+                    .register(registry);
+            FunctionCounter.builder("recipebook.recipe.cache.requests", recipeCache, c -> c.stats().misses())
+                    .tag("result", "miss")
+                    .register(registry);
+            FunctionCounter.builder("recipebook.recipe.cache.removals", recipeCache, c -> c.stats().evictions())
+                    .tag("cause", "size")
+                    .register(registry);
+            FunctionCounter.builder("recipebook.recipe.cache.removals", recipeCache, c -> c.stats().expirations())
+                    .tag("cause", "expired")
+                    .register(registry);
+        };
+    }
+
+    @Bean
+    MeterBinder passwordHashingMetrics(PasswordHashingService passwordHashingService) {
+        return registry -> {
+            Gauge.builder("recipebook.hashing.active", passwordHashingService, s -> s.stats().active())
+                    .register(registry);
+            Gauge.builder("recipebook.hashing.queued", passwordHashingService, s -> s.stats().queueDepth())
+                    .register(registry);
+            FunctionCounter.builder("recipebook.hashing.completed", passwordHashingService, s -> s.stats().completed())
+                    .register(registry);
+            FunctionCounter.builder("recipebook.hashing.rejected", passwordHashingService, s -> s.stats().rejected())
+                    .register(registry);
+        };
+    }
+
+    // Hikari's own meters (hikaricp.connections.acquire/usage/pending) still see the pool behind
+    // the bulkhead, since Boot unwraps DelegatingDataSource; these cover the semaphore in front of it.
+    // unwrap() because the bulkhead may itself be wrapped (SlowQueryLoggingDataSource).
+    @Bean
+    MeterBinder bulkheadMetrics(DataSource dataSource) {
+        return registry -> {
+            BulkheadDataSource bulkhead = unwrapBulkhead(dataSource);
+            if (bulkhead != null) {
+                Gauge.builder("recipebook.bulkhead.available", bulkhead, BulkheadDataSource::getAvailablePermits)
+                        .register(registry);
+                Gauge.builder("recipebook.bulkhead.waiting", bulkhead, BulkheadDataSource::getQueueLength)
+                        .register(registry);
+            }
+        };
+    }
+
+    private static BulkheadDataSource unwrapBulkhead(DataSource dataSource) {
+        try {
+            return dataSource.isWrapperFor(BulkheadDataSource.class) ? dataSource.unwrap(BulkheadDataSource.class) : null;
+        } catch (SQLException ex) {
+            return null;
+        }
+    }
+}
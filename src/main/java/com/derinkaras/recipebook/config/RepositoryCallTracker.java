@@ -0,0 +1,55 @@
+package com.derinkaras.recipebook.config;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+// Remembers which repository method the current thread is inside, e.g.
+// "RecipeRepository.findRowById", so SlowQueryLoggingDataSource can say where a
+// statement came from. Covers inherited methods (findById, saveAll, ...) as well, named after
+// the application's repository interface rather than CrudRepository.
+//
+// Nested calls restore the outer name when they return.
+@Aspect
+@Component
+@ConditionalOnProperty(name = "recipebook.sql.log.enabled", havingValue = "true", matchIfMissing = true)
+public class RepositoryCallTracker {
+
+    private static final ThreadLocal<String> CURRENT = new ThreadLocal<>();
+
+    // Proxy class -> its repository interface's simple name, computed once per repository
+    private static final ClassValue<String> REPOSITORY_NAMES = new ClassValue<>() {
+        @Override
+        protected String computeValue(Class<?> proxyClass) {
+            for (Class<?> candidate : proxyClass.getInterfaces()) {
+                if (candidate.getPackageName().startsWith("com.derinkaras.recipebook")) {
+                    return candidate.getSimpleName();
+                }
+            }
+            return proxyClass.getSimpleName();
+        }
+    };
+
+    // The repository method running on this thread, or null (e.g. JdbcTemplate in a service)
+    static String current() {
+        return CURRENT.get();
+    }
+
+    @Around("execution(* org.springframework.data.repository.Repository+.*(..))")
+    public Object track(ProceedingJoinPoint joinPoint) throws Throwable {
+        String outer = CURRENT.get();
+        // getThis() is the Spring Data proxy, which implements the repository interface
+        CURRENT.set(REPOSITORY_NAMES.get(joinPoint.getThis().getClass()) + "." + joinPoint.getSignature().getName());
+        try {
+            return joinPoint.proceed();
+        } finally {
+            if (outer == null) {
+                CURRENT.remove();
+            } else {
+                CURRENT.set(outer);
+            }
+        }
+    }
+}
@@ -0,0 +1,34 @@
+package com.derinkaras.recipebook.config;
+
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+
+// Wraps the DataSource in a SlowQueryLoggingDataSource (recipebook.sql.* properties).
+// Same BeanPostProcessor approach as DataSourceBulkheadConfig; when both are enabled the
+// wrappers nest and either order works.
+@Configuration
+@ConditionalOnProperty(name = "recipebook.sql.log.enabled", havingValue = "true", matchIfMissing = true)
+public class SlowQueryLogConfig {
+
+    @Bean
+    static BeanPostProcessor slowQueryLogPostProcessor(Environment environment) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof DataSource dataSource && !(bean instanceof SlowQueryLoggingDataSource)) {
+                    Duration threshold = environment.getProperty("recipebook.sql.slow-threshold",
+                            Duration.class, Duration.ofMillis(200));
+                    double sampleRate = environment.getProperty("recipebook.sql.sample-rate", Double.class, 0.0);
+                    return new SlowQueryLoggingDataSource(dataSource, threshold, sampleRate);
+                }
+                return bean;
+            }
+        };
+    }
+}
@@ -0,0 +1,181 @@
+package com.derinkaras.recipebook.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+
+// DataSource wrapper that times every statement execution and logs
+//   - at WARN on "recipebook.sql.slow": every statement slower than slowThreshold
+//   - at INFO on "recipebook.sql.sample": a random sampleRate share of the other statements
+// This replaces spring.jpa.show-sql, which printed every statement synchronously and without
+// timings. Both loggers go through an async appender (logback-spring.xml), so a slow query
+// never waits on stdout.
+//
+// A line carries the elapsed time, the repository method that issued the statement (see
+// RepositoryCallTracker; "-" for JdbcTemplate calls in services), the batch size and the
+// parameter SHAPES - the bind type per position, e.g. [Long, String, null] - never the values,
+// which can be passwords or emails.
+//
+// Only execute*() is timed: for a query that is the time until the driver has the first
+// fetch-size rows, not the time spent iterating a streamed ResultSet.
+public class SlowQueryLoggingDataSource extends DelegatingDataSource {
+
+    private static final Logger slowLog = LoggerFactory.getLogger("recipebook.sql.slow");
+    private static final Logger sampleLog = LoggerFactory.getLogger("recipebook.sql.sample");
+
+    private static final int MAX_SQL_LENGTH = 2000;
+    private static final Set<String> EXECUTE_METHODS = Set.of(
+            "execute", "executeQuery", "executeUpdate", "executeLargeUpdate", "executeBatch", "executeLargeBatch");
+
+    private final long slowThresholdNanos;
+    private final double sampleRate;
+
+    public SlowQueryLoggingDataSource(DataSource target, Duration slowThreshold, double sampleRate) {
+        super(target);
+        this.slowThresholdNanos = slowThreshold.toNanos();
+        this.sampleRate = sampleRate;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return timing(super.getConnection());
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return timing(super.getConnection(username, password));
+    }
+
+    // Connection proxy whose statements are wrapped; everything else goes straight through
+    private Connection timing(Connection target) {
+        return (Connection) Proxy.newProxyInstance(
+                Connection.class.getClassLoader(),
+                new Class<?>[]{Connection.class},
+                (proxy, method, args) -> {
+                    Object result = invoke(target, method, args);
+                    return switch (method.getName()) {
+                        case "createStatement" -> timing((Statement) result, Statement.class, null);
+                        case "prepareStatement" -> timing((Statement) result, PreparedStatement.class, (String) args[0]);
+                        case "prepareCall" -> timing((Statement) result, CallableStatement.class, (String) args[0]);
+                        default -> result;
+                    };
+                });
+    }
+
+    private Statement timing(Statement target, Class<? extends Statement> type, String preparedSql) {
+        StatementState state = new StatementState(preparedSql);
+        return (Statement) Proxy.newProxyInstance(
+                Statement.class.getClassLoader(),
+                new Class<?>[]{type},
+                (proxy, method, args) -> {
+                    String name = method.getName();
+                    if (EXECUTE_METHODS.contains(name)) {
+                        long started = System.nanoTime();
+                        try {
+                            return invoke(target, method, args);
+                        } finally {
+                            long elapsed = System.nanoTime() - started;
+                            String sql = args != null && args.length > 0 && args[0] instanceof String s ? s : state.sql;
+                            log(elapsed, sql, state);
+                            state.batchSize = 0;
+                        }
+                    }
+                    if (name.equals("addBatch")) {
+                        state.batchSize++;
+                    } else if (name.equals("clearParameters")) {
+                        state.clearParameters();
+                    } else if (name.startsWith("set") && args != null && args.length >= 2
+                            && args[0] instanceof Integer index && method.getDeclaringClass() != Statement.class) {
+                        state.bind(index, shapeOf(name, args[1]));
+                    }
+                    return invoke(target, method, args);
+                });
+    }
+
+    private void log(long elapsedNanos, String sql, StatementState state) {
+        if (elapsedNanos >= slowThresholdNanos) {
+            if (slowLog.isWarnEnabled()) {
+                slowLog.warn(format(elapsedNanos, sql, state));
+            }
+        } else if (sampleRate > 0 && ThreadLocalRandom.current().nextDouble() < sampleRate && sampleLog.isInfoEnabled()) {
+            sampleLog.info(format(elapsedNanos, sql, state));
+        }
+    }
+
+    private static String format(long elapsedNanos, String sql, StatementState state) {
+        String caller = RepositoryCallTracker.current();
+        String text = sql == null ? "?" : sql.replaceAll("\\s+", " ").trim();
+        if (text.length() > MAX_SQL_LENGTH) {
+            text = text.substring(0, MAX_SQL_LENGTH) + "...";
+        }
+        return String.format("%.1fms caller=%s batch=%d params=%s sql=%s",
+                elapsedNanos / 1_000_000.0,
+                caller == null ? "-" : caller,
+                state.batchSize,
+                state.parameterShapes(),
+                text);
+    }
+
+    // "setLong" -> "Long"; setNull/setObject(null) -> "null"; setObject(x) -> x's class
+    private static String shapeOf(String setter, Object value) {
+        if (setter.equals("setNull") || value == null) {
+            return "null";
+        }
+        if (setter.equals("setObject")) {
+            return value.getClass().getSimpleName();
+        }
+        return setter.substring(3);
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException ex) {
+            throw ex.getTargetException();
+        }
+    }
+
+    // Per-statement bookkeeping. A JDBC statement is used by one thread at a time.
+    private static final class StatementState {
+        final String sql;
+        String[] shapes = new String[0];
+        int batchSize;
+
+        StatementState(String sql) {
+            this.sql = sql;
+        }
+
+        void bind(int index, String shape) {
+            if (index > shapes.length) {
+                shapes = Arrays.copyOf(shapes, Math.max(index, shapes.length * 2));
+            }
+            shapes[index - 1] = shape;
+        }
+
+        void clearParameters() {
+            Arrays.fill(shapes, null);
+        }
+
+        String parameterShapes() {
+            int length = shapes.length;
+            while (length > 0 && shapes[length - 1] == null) {
+                length--;
+            }
+            return Arrays.toString(Arrays.copyOf(shapes, length));
+        }
+    }
+}
@@ -0,0 +1,26 @@
+package com.derinkaras.recipebook.controller;
+
+import com.derinkaras.recipebook.cache.HibernateCacheEvictor;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("api/v1/cache")
+public class CacheController {
+
+    private final HibernateCacheEvictor hibernateCacheEvictor;
+
+    public CacheController(HibernateCacheEvictor hibernateCacheEvictor) {
+        this.hibernateCacheEvictor = hibernateCacheEvictor;
+    }
+
+    // Hit/miss/put counters and sizes of the Hibernate second-level cache regions
+    // (the RecipeDto cache has its own endpoint: GET /api/v1/recipe/cache/stats)
+    @GetMapping("/regions")
+    public List<HibernateCacheEvictor.RegionStats> regions() {
+        return hibernateCacheEvictor.regionStats();
+    }
+}
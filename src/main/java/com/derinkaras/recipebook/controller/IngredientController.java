@@ -1,18 +1,19 @@
 package com.derinkaras.recipebook.controller;
 
+import com.derinkaras.recipebook.dto.ingredient.BulkIngredientRequest;
 import com.derinkaras.recipebook.dto.ingredient.CreateIngredientRequest;
 import com.derinkaras.recipebook.dto.ingredient.IngredientDto;
 import com.derinkaras.recipebook.service.IngredientService;
-import jakarta.transaction.Transactional;
 import jakarta.validation.Valid;
 import org.apache.coyote.Response;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
+import java.util.Map;
 
 @RestController
-@Transactional
 @RequestMapping("api/v1/ingredient")
 public class IngredientController {
 
@@ -22,11 +23,29 @@ public class IngredientController {
         this.ingredientService = ingredientService;
     }
 
+    // Conditional GET: the ETag is a fingerprint of the in-memory IngredientDictionary, so an
+    // unchanged list is answered with an empty 304 without touching the database
+    // (see RecipeController.getAll). The controller is deliberately not @Transactional: that
+    // would borrow a connection for every request, 304s included; IngredientService opens
+    // transactions where a write needs one.
     @GetMapping
-    public List<IngredientDto> getAll(){
+    public List<IngredientDto> getAll(WebRequest request){
+        if (request.checkNotModified(ingredientService.getListVersion())) {
+            return null;
+        }
         return ingredientService.getAll();
     }
 
+    // Type-ahead for the ingredient picker: GET /api/v1/ingredient/autocomplete?prefix=tom&limit=10
+    // Matches the start of any word in the name, most-used ingredients first.
+    @GetMapping("/autocomplete")
+    public List<IngredientDto> autocomplete(
+            @RequestParam String prefix,
+            @RequestParam(required = false) Integer limit
+    ){
+        return ingredientService.autocomplete(prefix, limit);
+    }
+
     @GetMapping("/{id}")
     public IngredientDto getById(@PathVariable Long id){
         return ingredientService.getById(id);
@@ -37,6 +56,15 @@ public class IngredientController {
         return ingredientService.create(req);
     }
 
+    // Get-or-create for a list of names in one round trip:
+    //   POST /api/v1/ingredient/bulk  {"names": ["Olive Oil", "garlic", "basil"]}
+    //   → {"olive oil": 3, "garlic": 7, "basil": 12}
+    // Names are normalized (trimmed, single spaces, lower case); missing ones are inserted.
+    @PostMapping("/bulk")
+    public Map<String, Long> bulkUpsert(@Valid @RequestBody BulkIngredientRequest req){
+        return ingredientService.resolveNames(req.getNames());
+    }
+
     @DeleteMapping("/{id}")
     public ResponseEntity<Void> delete(@PathVariable Long id){
         ingredientService.delete(id);
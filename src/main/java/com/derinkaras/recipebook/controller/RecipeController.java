@@ -1,35 +1,161 @@
 package com.derinkaras.recipebook.controller;
 
 
+import com.derinkaras.recipebook.cache.CacheStats;
 import com.derinkaras.recipebook.dto.recipe.CreateRecipeRequest;
+import com.derinkaras.recipebook.dto.recipe.PantryMatchDto;
+import com.derinkaras.recipebook.dto.recipe.PatchRecipeRequest;
 import com.derinkaras.recipebook.dto.recipe.RecipeDto;
+import com.derinkaras.recipebook.dto.recipe.RecipeImportResultDto;
+import com.derinkaras.recipebook.dto.recipe.RecipePageDto;
 import com.derinkaras.recipebook.dto.recipe.UpdateRecipeRequest;
+import com.derinkaras.recipebook.service.RecipeExportService;
+import com.derinkaras.recipebook.service.RecipeImportService;
 import com.derinkaras.recipebook.service.RecipeService;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.util.DigestUtils;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.context.request.async.WebAsyncTask;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
 import java.util.List;
 
 @RestController
 @RequestMapping("api/v1/recipe")
 public class RecipeController {
+    private static final MediaType NDJSON = MediaType.parseMediaType("application/x-ndjson");
+    // Async timeout of the export: none (Tomcat treats a timeout <= 0 as "never")
+    private static final long EXPORT_TIMEOUT_MS = -1L;
+
     private final RecipeService recipeService;
+    private final RecipeExportService recipeExportService;
+    private final RecipeImportService recipeImportService;
 
-    public RecipeController(RecipeService recipeService) {
+    public RecipeController(RecipeService recipeService,
+                            RecipeExportService recipeExportService,
+                            RecipeImportService recipeImportService) {
         this.recipeService = recipeService;
+        this.recipeExportService = recipeExportService;
+        this.recipeImportService = recipeImportService;
     }
 
+    // Conditional GET. Every response carries an ETag; a client that sends it back in
+    // If-None-Match gets an empty 304 when nothing changed.
+    //
+    // checkNotModified compares the tags, sets the ETag header and, on a match, marks the
+    // request as handled, so returning null sends the 304. The tag comes from a cheap query
+    // (count, highest id and sum of versions), so a 304 never loads or serializes the recipes.
     @GetMapping
-    public List<RecipeDto> getAll(@RequestParam(required = false) Long ownerId) {
+    public List<RecipeDto> getAll(@RequestParam(required = false) Long ownerId, WebRequest request) {
+        if (request.checkNotModified(recipeService.getListVersion(ownerId))) {
+            return null;
+        }
         return recipeService.getAll(ownerId);
     }
 
+    // Paginated mode of the same listing. Spring picks this handler instead of getAll()
+    // whenever the request carries a "limit" param, so existing clients are unaffected.
+    //
+    //   GET /api/v1/recipe?limit=20                     → first page, newest first
+    //   GET /api/v1/recipe?limit=20&cursor=<nextCursor> → the page after it
+    //   GET /api/v1/recipe?limit=20&sort=id&ownerId=3   → one owner's recipes by id
+    //
+    // limit is clamped to [1, 100]. The cursor is opaque: clients only ever echo back
+    // the nextCursor from the previous response.
+    //
+    // Pages are conditional too. A page is a single index seek, so it is simply loaded and
+    // tagged with an md5 over its ids, versions and cursor; a 304 saves the body, not the query.
+    @GetMapping(params = "limit")
+    public RecipePageDto getPage(
+            @RequestParam(required = false) Long ownerId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) String sort,
+            @RequestParam Integer limit,
+            WebRequest request
+    ) {
+        RecipePageDto page = recipeService.getPage(ownerId, sort, cursor, limit);
+        if (request.checkNotModified(pageEtag(page))) {
+            return null;
+        }
+        return page;
+    }
+
+
+    // Full-text search over recipe titles and descriptions, best match first.
+    //   GET /api/v1/recipe/search?q=garlic+pasta&limit=10
+    // Served from an in-memory inverted index, so it never scans the recipe table.
+    @GetMapping("/search")
+    public List<RecipeDto> search(
+            @RequestParam String q,
+            @RequestParam(required = false) Integer limit
+    ) {
+        return recipeService.search(q, limit);
+    }
+
+    // "What can I cook?" Takes the ingredient ids the user has and returns the recipes they can
+    // make, plus those missing only a few ingredients, fewest missing first.
+    //   GET /api/v1/recipe/pantry?ingredientIds=1,4,9&maxMissing=2&limit=20
+    // maxMissing defaults to 2 (max 5).
+    @GetMapping("/pantry")
+    public List<PantryMatchDto> matchPantry(
+            @RequestParam List<Long> ingredientIds,
+            @RequestParam(required = false) Integer maxMissing,
+            @RequestParam(required = false) Integer limit
+    ) {
+        return recipeService.matchPantry(ingredientIds, maxMissing, limit);
+    }
+
+    // Full dump of every recipe, one JSON object per line (NDJSON).
+    //
+    // The WebAsyncTask releases the request thread and runs the callable on an async thread,
+    // writing straight to the socket. Nothing is collected into a List first, so the export
+    // starts immediately and uses flat memory no matter how many recipes there are (see
+    // RecipeExportService). A full export can take minutes, so the task carries its own
+    // timeout; every other async request keeps the container's default.
+    @GetMapping("/export")
+    public WebAsyncTask<Void> export(HttpServletResponse response) {
+        response.setContentType(NDJSON.toString());
+        return new WebAsyncTask<>(EXPORT_TIMEOUT_MS, () -> {
+            recipeExportService.exportAll(response.getOutputStream());
+            return null;
+        });
+    }
+
+    // Bulk import: the body is NDJSON, one CreateRecipeRequest per line.
+    //
+    // Taking the raw InputStream (instead of @RequestBody List<...>) means Spring does not
+    // deserialize the whole upload up front; RecipeImportService reads it line by line and
+    // writes recipes in large JDBC batches. Bad lines are reported in the result, not thrown.
+    @PostMapping(value = "/import", consumes = "application/x-ndjson")
+    public RecipeImportResultDto importRecipes(InputStream body) throws IOException {
+        return recipeImportService.importNdjson(body);
+    }
+
+    // Hit/miss/eviction counters of the RecipeDto cache behind GET /api/v1/recipe/{id}
+    @GetMapping("/cache/stats")
+    public CacheStats cacheStats() {
+        return recipeService.getCacheStats();
+    }
 
     // Use @PathVariable when the value identifies a specific resource.
+    //
+    // Same conditional GET as getAll; the ETag is the recipe's version column. It is taken
+    // from the DTO itself rather than a separate version query, so an update landing between
+    // the two reads cannot pair a new tag with an old body. getById is answered from the
+    // recipe cache when it can, so a 304 usually costs no query at all.
     @GetMapping("/{id}")
-    public RecipeDto getOne(@PathVariable Long id){
-        return recipeService.getById(id);
+    public RecipeDto getOne(@PathVariable Long id, WebRequest request){
+        RecipeDto recipe = recipeService.getById(id);
+        if (request.checkNotModified(etag(recipe.getVersion()))) {
+            return null;
+        }
+        return recipe;
     }
 
     // @Valid triggers validation on the incoming JSON before this method runs.
@@ -50,12 +176,88 @@ public class RecipeController {
 
     // This UpdateRecipeRequest DTO doesnt have any not null fields so it doesnt need to be validated
     // Within the service method to update it performs checks and updates if needed still only returning the dto
+    //
+    // Optimistic concurrency: a client that sends If-Match: "<etag from its GET>" only overwrites
+    // the recipe if nobody changed it since. For a PUT, checkNotModified evaluates If-Match and
+    // answers 412 itself when the tag is stale; the matched version is then re-checked inside
+    // the update transaction to close the race with a concurrent writer.
+    // Without If-Match the update is unconditional, as before.
     @PutMapping("/{id}")
-    public RecipeDto update(
+    public ResponseEntity<RecipeDto> update(
             @PathVariable Long id,
-            @RequestBody UpdateRecipeRequest req
+            @RequestBody UpdateRecipeRequest req,
+            @RequestHeader(value = "If-Match", required = false) String ifMatch,
+            WebRequest request
             ) {
-        return recipeService.update(id, req);
+        Long expectedVersion = null;
+        if (ifMatch != null) {
+            expectedVersion = recipeService.getVersion(id);
+            if (request.checkNotModified(etag(expectedVersion))) {
+                return null;
+            }
+        }
+        RecipeDto updated = recipeService.update(id, req, expectedVersion);
+        return ResponseEntity.ok()
+                .eTag(etag(updated.getVersion()))
+                .body(updated);
+    }
+
+    // Partial update: only the fields present change, and ingredients are added/removed
+    // individually instead of being replaced, e.g.
+    //   PATCH /api/v1/recipe/7  {"title": "Better pesto", "addIngredientIds": [12], "removeIngredientIds": [3]}
+    // Honours If-Match exactly like update().
+    @PatchMapping("/{id}")
+    public ResponseEntity<RecipeDto> patch(
+            @PathVariable Long id,
+            @RequestBody PatchRecipeRequest req,
+            @RequestHeader(value = "If-Match", required = false) String ifMatch,
+            WebRequest request
+    ) {
+        Long expectedVersion = null;
+        if (ifMatch != null) {
+            expectedVersion = recipeService.getVersion(id);
+            if (request.checkNotModified(etag(expectedVersion))) {
+                return null;
+            }
+        }
+        RecipeDto patched = recipeService.patch(id, req, expectedVersion);
+        return ResponseEntity.ok()
+                .eTag(etag(patched.getVersion()))
+                .body(patched);
+    }
+
+    // The recipe's ingredients as a sub-resource: add or remove one ingredient without
+    // sending the rest. Both are idempotent and answer with the updated recipe.
+    //   PUT    /api/v1/recipe/7/ingredients/12
+    //   DELETE /api/v1/recipe/7/ingredients/12
+    @PutMapping("/{id}/ingredients/{ingredientId}")
+    public ResponseEntity<RecipeDto> addIngredient(@PathVariable Long id, @PathVariable Long ingredientId) {
+        RecipeDto updated = recipeService.addIngredient(id, ingredientId);
+        return ResponseEntity.ok()
+                .eTag(etag(updated.getVersion()))
+                .body(updated);
+    }
+
+    @DeleteMapping("/{id}/ingredients/{ingredientId}")
+    public ResponseEntity<RecipeDto> removeIngredient(@PathVariable Long id, @PathVariable Long ingredientId) {
+        RecipeDto updated = recipeService.removeIngredient(id, ingredientId);
+        return ResponseEntity.ok()
+                .eTag(etag(updated.getVersion()))
+                .body(updated);
+    }
+
+    // The recipe ETag (unquoted; Spring adds the quotes)
+    private static String etag(Long version) {
+        return "v" + version;
+    }
+
+    private static String pageEtag(RecipePageDto page) {
+        StringBuilder ids = new StringBuilder();
+        for (RecipeDto recipe : page.getItems()) {
+            ids.append(recipe.getId()).append(':').append(recipe.getVersion()).append(',');
+        }
+        ids.append(page.getNextCursor());
+        return "p" + DigestUtils.md5DigestAsHex(ids.toString().getBytes(StandardCharsets.UTF_8));
     }
 
     @DeleteMapping("/{id}")
@@ -1,19 +1,32 @@
 package com.derinkaras.recipebook.controller;
 import com.derinkaras.recipebook.dto.recipe.RecipeDto;
+import com.derinkaras.recipebook.dto.user.AvailabilityDto;
 import com.derinkaras.recipebook.dto.user.CreateUserRequest;
 import com.derinkaras.recipebook.dto.user.UpdateUserRequest;
+import com.derinkaras.recipebook.dto.user.UserDashboardDto;
+import com.derinkaras.recipebook.dto.user.UserDeletionJobDto;
 import com.derinkaras.recipebook.dto.user.UserDto;
+import com.derinkaras.recipebook.service.PasswordHashingService;
+import com.derinkaras.recipebook.service.UserDeletionService;
 import com.derinkaras.recipebook.service.UserService;
 import jakarta.validation.Valid;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import java.net.URI;
 import java.util.List;
 
 @RestController
 @RequestMapping("api/v1/user")
 public class UserController {
     private final UserService userService;
-    public UserController(UserService userService) {
+    private final PasswordHashingService passwordHashingService;
+    private final UserDeletionService userDeletionService;
+    public UserController(UserService userService,
+                          PasswordHashingService passwordHashingService,
+                          UserDeletionService userDeletionService) {
         this.userService = userService;
+        this.passwordHashingService = passwordHashingService;
+        this.userDeletionService = userDeletionService;
     }
 
     // Use Path Variables when referring to a unique resource from its direct table
@@ -22,6 +35,16 @@ public class UserController {
         return userService.getUserById(id);
     }
 
+    // Everything the user page needs in one response: user, profile, recipe count and the
+    // newest recipes (default 5, max 50), e.g. GET /api/v1/user/3/dashboard?recipes=10
+    @GetMapping("/{id}/dashboard")
+    public UserDashboardDto getDashboard(
+            @PathVariable Long id,
+            @RequestParam(required = false) Integer recipes
+    ) {
+        return userService.getDashboard(id, recipes);
+    }
+
     @PostMapping
     public UserDto registerUser(@Valid @RequestBody CreateUserRequest user) {
         return userService.registerUser(user);
@@ -36,6 +59,47 @@ public class UserController {
         return userService.updateUser(id, req);
     }
 
+    // Signup-form check, e.g. GET /api/v1/user/availability?username=derin&email=d@example.com
+    // Either param may be omitted. Mostly answered from in-memory Bloom filters.
+    @GetMapping("/availability")
+    public AvailabilityDto checkAvailability(
+            @RequestParam(required = false) String username,
+            @RequestParam(required = false) String email
+    ) {
+        return userService.checkAvailability(username, email);
+    }
+
+    // Deletes the account with its profile and all of its recipes (set-based SQL, see
+    // UserDeletionService).
+    //   DELETE /api/v1/user/3              → 204 once everything is gone (one transaction)
+    //   DELETE /api/v1/user/3?async=true   → 202 right away, with a job to poll at the Location
+    @DeleteMapping("/{id}")
+    public ResponseEntity<UserDeletionJobDto> deleteUser(
+            @PathVariable Long id,
+            @RequestParam(defaultValue = "false") boolean async
+    ) {
+        if (!async) {
+            userDeletionService.deleteUser(id);
+            return ResponseEntity.noContent().build();
+        }
+        UserDeletionJobDto job = userDeletionService.startDeletion(id);
+        return ResponseEntity.accepted()
+                .location(URI.create("/api/v1/user/deletions/" + job.getJobId()))
+                .body(job);
+    }
+
+    // Progress of an async deletion: status, recipes deleted so far out of the total
+    @GetMapping("/deletions/{jobId}")
+    public UserDeletionJobDto getDeletionJob(@PathVariable String jobId) {
+        return userDeletionService.getJob(jobId);
+    }
+
+    // Queue depth and latency of the password-hashing pool used by register/update
+    @GetMapping("/hashing/stats")
+    public PasswordHashingService.Stats hashingStats() {
+        return passwordHashingService.stats();
+    }
+
     // Request params for filtering and nondirect access
     @GetMapping
     public List<RecipeDto> getUserRecipes(
@@ -0,0 +1,21 @@
+package com.derinkaras.recipebook.dto.ingredient;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+
+// Body of POST /api/v1/ingredient/bulk: the names to resolve, creating any that don't exist yet
+public class BulkIngredientRequest {
+    @NotEmpty(message = "names is required")
+    @Size(max = 1000, message = "at most 1000 names per request")
+    private List<String> names;
+
+    public List<String> getNames() {
+        return names;
+    }
+
+    public void setNames(List<String> names) {
+        this.names = names;
+    }
+}
@@ -2,6 +2,7 @@ package com.derinkaras.recipebook.dto.recipe;
 
 
 import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
 
 import java.util.List;
 
@@ -27,12 +28,17 @@ public class CreateRecipeRequest {
     // records use constructor-based binding instead.
 
 
+    // The @Size limits are the column lengths (V1__baseline.sql), so an over-long value is a
+    // 400 for this line instead of a failed INSERT
     @NotNull(message = "title is required")
+    @Size(max = 255, message = "title must be at most 255 characters")
     private String title;
 
+    @Size(max = 2000, message = "description must be at most 2000 characters")
     private String description;
 
     @NotNull(message = "difficulty is required")
+    @Size(max = 255, message = "difficulty must be at most 255 characters")
     private String difficulty;
 
     @NotNull(message = "owner id is required")
@@ -40,6 +46,10 @@ public class CreateRecipeRequest {
 
     private List<Long> ingredientIds;
 
+    // Alternative/addition to ingredientIds: names are resolved (and created if missing)
+    // through the same path as POST /api/v1/ingredient/bulk
+    private List<@Size(max = 255, message = "ingredient names must be at most 255 characters") String> ingredientNames;
+
     public String getTitle() {
         return title;
     }
@@ -79,4 +89,12 @@ public class CreateRecipeRequest {
     public void setIngredientIds(List<Long> ingredientIds) {
         this.ingredientIds = ingredientIds;
     }
+
+    public List<String> getIngredientNames() {
+        return ingredientNames;
+    }
+
+    public void setIngredientNames(List<String> ingredientNames) {
+        this.ingredientNames = ingredientNames;
+    }
 }
@@ -0,0 +1,41 @@
+package com.derinkaras.recipebook.dto.recipe;
+
+import java.util.List;
+
+// A recipe returned by the pantry ("what can I cook?") endpoint, together with
+// how many of its ingredients the user does not have and which ones.
+public class PantryMatchDto {
+    private RecipeDto recipe;
+    private int missingCount;
+    private List<String> missingIngredients;
+
+    public PantryMatchDto(RecipeDto recipe, int missingCount, List<String> missingIngredients) {
+        this.recipe = recipe;
+        this.missingCount = missingCount;
+        this.missingIngredients = missingIngredients;
+    }
+
+    public RecipeDto getRecipe() {
+        return recipe;
+    }
+
+    public void setRecipe(RecipeDto recipe) {
+        this.recipe = recipe;
+    }
+
+    public int getMissingCount() {
+        return missingCount;
+    }
+
+    public void setMissingCount(int missingCount) {
+        this.missingCount = missingCount;
+    }
+
+    public List<String> getMissingIngredients() {
+        return missingIngredients;
+    }
+
+    public void setMissingIngredients(List<String> missingIngredients) {
+        this.missingIngredients = missingIngredients;
+    }
+}
@@ -0,0 +1,55 @@
+package com.derinkaras.recipebook.dto.recipe;
+
+import java.util.List;
+
+// Body of PATCH /api/v1/recipe/{id}. Every field is optional; only what is present changes.
+// Unlike UpdateRecipeRequest.ingredientIds (the full new list), the ingredients are given as
+// a change: ids to add and ids to remove. Unknown ingredient ids are skipped, as in create.
+public class PatchRecipeRequest {
+
+    private String title;
+    private String description;
+    private String difficulty;
+    private List<Long> addIngredientIds;
+    private List<Long> removeIngredientIds;
+
+    public String getTitle() {
+        return title;
+    }
+
+    public void setTitle(String title) {
+        this.title = title;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+
+    public void setDescription(String description) {
+        this.description = description;
+    }
+
+    public String getDifficulty() {
+        return difficulty;
+    }
+
+    public void setDifficulty(String difficulty) {
+        this.difficulty = difficulty;
+    }
+
+    public List<Long> getAddIngredientIds() {
+        return addIngredientIds;
+    }
+
+    public void setAddIngredientIds(List<Long> addIngredientIds) {
+        this.addIngredientIds = addIngredientIds;
+    }
+
+    public List<Long> getRemoveIngredientIds() {
+        return removeIngredientIds;
+    }
+
+    public void setRemoveIngredientIds(List<Long> removeIngredientIds) {
+        this.removeIngredientIds = removeIngredientIds;
+    }
+}
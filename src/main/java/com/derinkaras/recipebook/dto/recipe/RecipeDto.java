@@ -9,6 +9,7 @@ public class RecipeDto {
     private String description;
     private String difficulty;
     private LocalDateTime createdAt;
+    private Long version;
     private Long ownerId;
     private List<String> ingredientNames;
 
@@ -53,6 +54,14 @@ public class RecipeDto {
         this.createdAt = createdAt;
     }
 
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+
     public Long getOwnerId() {
         return ownerId;
     }
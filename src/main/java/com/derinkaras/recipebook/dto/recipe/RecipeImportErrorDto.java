@@ -0,0 +1,28 @@
+package com.derinkaras.recipebook.dto.recipe;
+
+// A single rejected line of a bulk import: which line (1-based) and why.
+public class RecipeImportErrorDto {
+    private long line;
+    private String message;
+
+    public RecipeImportErrorDto(long line, String message) {
+        this.line = line;
+        this.message = message;
+    }
+
+    public long getLine() {
+        return line;
+    }
+
+    public void setLine(long line) {
+        this.line = line;
+    }
+
+    public String getMessage() {
+        return message;
+    }
+
+    public void setMessage(String message) {
+        this.message = message;
+    }
+}
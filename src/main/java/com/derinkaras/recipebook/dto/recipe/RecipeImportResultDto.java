@@ -0,0 +1,55 @@
+package com.derinkaras.recipebook.dto.recipe;
+
+import java.util.List;
+
+// Summary returned by POST /api/v1/recipe/import.
+//
+// failed counts every rejected line, but only the first few hundred errors are listed
+// so a completely broken file does not produce a gigantic response.
+public class RecipeImportResultDto {
+    private long imported;
+    private long failed;
+    private long elapsedMillis;
+    private double rowsPerSecond;
+    private List<RecipeImportErrorDto> errors;
+
+    public long getImported() {
+        return imported;
+    }
+
+    public void setImported(long imported) {
+        this.imported = imported;
+    }
+
+    public long getFailed() {
+        return failed;
+    }
+
+    public void setFailed(long failed) {
+        this.failed = failed;
+    }
+
+    public long getElapsedMillis() {
+        return elapsedMillis;
+    }
+
+    public void setElapsedMillis(long elapsedMillis) {
+        this.elapsedMillis = elapsedMillis;
+    }
+
+    public double getRowsPerSecond() {
+        return rowsPerSecond;
+    }
+
+    public void setRowsPerSecond(double rowsPerSecond) {
+        this.rowsPerSecond = rowsPerSecond;
+    }
+
+    public List<RecipeImportErrorDto> getErrors() {
+        return errors;
+    }
+
+    public void setErrors(List<RecipeImportErrorDto> errors) {
+        this.errors = errors;
+    }
+}
@@ -0,0 +1,13 @@
+package com.derinkaras.recipebook.dto.recipe;
+
+// One row of the recipe_ingredient join table.
+//
+// Interface-based projection: Spring Data creates a proxy that reads the "recipeId" and
+// "ingredientId" columns of a native query. The ingredient NAME is not selected at all —
+// it comes from the in-memory IngredientDictionary — so recipe reads never touch the
+// ingredient table.
+public interface RecipeIngredientLink {
+    Long getRecipeId();
+
+    Long getIngredientId();
+}
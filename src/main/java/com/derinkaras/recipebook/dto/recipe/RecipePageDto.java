@@ -0,0 +1,32 @@
+package com.derinkaras.recipebook.dto.recipe;
+
+import java.util.List;
+
+// One page of a cursor-paginated recipe listing.
+// nextCursor is null when there are no more pages; otherwise the client sends it back
+// unchanged as ?cursor=... to get the next page.
+public class RecipePageDto {
+    private List<RecipeDto> items;
+    private String nextCursor;
+
+    public RecipePageDto(List<RecipeDto> items, String nextCursor) {
+        this.items = items;
+        this.nextCursor = nextCursor;
+    }
+
+    public List<RecipeDto> getItems() {
+        return items;
+    }
+
+    public void setItems(List<RecipeDto> items) {
+        this.items = items;
+    }
+
+    public String getNextCursor() {
+        return nextCursor;
+    }
+
+    public void setNextCursor(String nextCursor) {
+        this.nextCursor = nextCursor;
+    }
+}
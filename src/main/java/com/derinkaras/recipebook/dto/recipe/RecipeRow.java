@@ -0,0 +1,20 @@
+package com.derinkaras.recipebook.dto.recipe;
+
+import java.time.LocalDateTime;
+
+// Read-only projection of a recipe row: exactly the recipe columns RecipeDto needs.
+//
+// RecipeRepository fills these with JPQL constructor expressions
+//   select new com.derinkaras.recipebook.dto.recipe.RecipeRow(r.id, ...) from Recipe r
+// so Hibernate never creates a managed Recipe (no persistence-context entry, no dirty-checking
+// snapshot, no lazy proxies) just to copy seven fields out of it.
+public record RecipeRow(
+        Long id,
+        String title,
+        String description,
+        String difficulty,
+        LocalDateTime createdAt,
+        Long version,
+        Long ownerId
+) {
+}
@@ -0,0 +1,37 @@
+package com.derinkaras.recipebook.dto.user;
+
+import com.derinkaras.recipebook.dto.recipe.RecipeDto;
+
+import java.util.List;
+
+// Everything the user page renders, returned by GET /api/v1/user/{id}/dashboard:
+// the user (with its profile, null if none), how many recipes they own, and their newest ones.
+public class UserDashboardDto {
+    private UserDto user;
+    private long recipeCount;
+    private List<RecipeDto> latestRecipes;
+
+    public UserDto getUser() {
+        return user;
+    }
+
+    public void setUser(UserDto user) {
+        this.user = user;
+    }
+
+    public long getRecipeCount() {
+        return recipeCount;
+    }
+
+    public void setRecipeCount(long recipeCount) {
+        this.recipeCount = recipeCount;
+    }
+
+    public List<RecipeDto> getLatestRecipes() {
+        return latestRecipes;
+    }
+
+    public void setLatestRecipes(List<RecipeDto> latestRecipes) {
+        this.latestRecipes = latestRecipes;
+    }
+}
@@ -0,0 +1,80 @@
+package com.derinkaras.recipebook.dto.user;
+
+import java.time.LocalDateTime;
+
+// Progress of an asynchronous account deletion (GET /api/v1/user/deletions/{jobId}).
+// status is RUNNING, COMPLETED or FAILED; totalRecipes is the count when the job started.
+public class UserDeletionJobDto {
+    private String jobId;
+    private Long userId;
+    private String status;
+    private long totalRecipes;
+    private long deletedRecipes;
+    private LocalDateTime startedAt;
+    private LocalDateTime finishedAt;
+    private String error;
+
+    public String getJobId() {
+        return jobId;
+    }
+
+    public void setJobId(String jobId) {
+        this.jobId = jobId;
+    }
+
+    public Long getUserId() {
+        return userId;
+    }
+
+    public void setUserId(Long userId) {
+        this.userId = userId;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    public void setStatus(String status) {
+        this.status = status;
+    }
+
+    public long getTotalRecipes() {
+        return totalRecipes;
+    }
+
+    public void setTotalRecipes(long totalRecipes) {
+        this.totalRecipes = totalRecipes;
+    }
+
+    public long getDeletedRecipes() {
+        return deletedRecipes;
+    }
+
+    public void setDeletedRecipes(long deletedRecipes) {
+        this.deletedRecipes = deletedRecipes;
+    }
+
+    public LocalDateTime getStartedAt() {
+        return startedAt;
+    }
+
+    public void setStartedAt(LocalDateTime startedAt) {
+        this.startedAt = startedAt;
+    }
+
+    public LocalDateTime getFinishedAt() {
+        return finishedAt;
+    }
+
+    public void setFinishedAt(LocalDateTime finishedAt) {
+        this.finishedAt = finishedAt;
+    }
+
+    public String getError() {
+        return error;
+    }
+
+    public void setError(String error) {
+        this.error = error;
+    }
+}
@@ -0,0 +1,9 @@
+package com.derinkaras.recipebook.exception;
+
+// Thrown when a request is syntactically fine but carries a value we cannot use
+// (e.g. a tampered pagination cursor). GlobalExceptionHandler turns it into a 400.
+public class BadRequestException extends RuntimeException {
+    public BadRequestException(String message) {
+        super(message);
+    }
+}
@@ -1,8 +1,12 @@
 package com.derinkaras.recipebook.exception;
 
 
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.transaction.CannotCreateTransactionException;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
@@ -142,4 +146,59 @@ public class GlobalExceptionHandler {
         return ResponseEntity.status(HttpStatus.CONFLICT).body(body);
     }
 
+    @ExceptionHandler(PreconditionFailedException.class)
+    public ResponseEntity<Map<String, Object>> handlePreconditionFailed(PreconditionFailedException ex) {
+        Map<String, Object> body = new HashMap<>();
+        body.put("error", "PRECONDITION_FAILED");
+        body.put("message", ex.getMessage());
+        // Error code 412: the If-Match version is not the current one
+        return ResponseEntity.status(HttpStatus.PRECONDITION_FAILED).body(body);
+    }
+
+    // Two requests updated the same recipe at the same time and this one lost
+    // (Hibernate's "where version = ?" matched no row)
+    @ExceptionHandler(OptimisticLockingFailureException.class)
+    public ResponseEntity<Map<String, Object>> handleOptimisticLock(OptimisticLockingFailureException ex) {
+        Map<String, Object> body = new HashMap<>();
+        body.put("error", "CONFLICT");
+        body.put("message", "The resource was modified concurrently, reload it and try again");
+        // Error code 409
+        return ResponseEntity.status(HttpStatus.CONFLICT).body(body);
+    }
+
+    // No database connection could be obtained in time: the connection bulkhead is full
+    // (see BulkheadDataSource) or the pool/database is unavailable. Hibernate reports this as
+    // CannotCreateTransactionException when a transaction starts, plain JDBC code as a
+    // DataAccessResourceFailureException. Either way the client should back off and retry.
+    @ExceptionHandler({CannotCreateTransactionException.class, DataAccessResourceFailureException.class})
+    public ResponseEntity<Map<String, Object>> handleUnavailable(Exception ex) {
+        Map<String, Object> body = new HashMap<>();
+        body.put("error", "SERVICE_UNAVAILABLE");
+        body.put("message", "The server is busy, please retry shortly");
+        // Error code 503
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body(body);
+    }
+
+    @ExceptionHandler(ServiceUnavailableException.class)
+    public ResponseEntity<Map<String, Object>> handleServiceUnavailable(ServiceUnavailableException ex) {
+        Map<String, Object> body = new HashMap<>();
+        body.put("error", "SERVICE_UNAVAILABLE");
+        body.put("message", ex.getMessage());
+        // Error code 503
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body(body);
+    }
+
+    @ExceptionHandler(BadRequestException.class)
+    public ResponseEntity<Map<String, Object>> handleBadRequest(BadRequestException ex) {
+        Map<String, Object> body = new HashMap<>();
+        body.put("error", "BAD_REQUEST");
+        body.put("message", ex.getMessage());
+        // Error code 400
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(body);
+    }
+
 }
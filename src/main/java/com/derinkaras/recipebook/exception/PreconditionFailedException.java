@@ -0,0 +1,9 @@
+package com.derinkaras.recipebook.exception;
+
+// Thrown when a conditional write (If-Match) was made against a version of the resource that
+// is no longer current. GlobalExceptionHandler turns it into a 412.
+public class PreconditionFailedException extends RuntimeException {
+    public PreconditionFailedException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,9 @@
+package com.derinkaras.recipebook.exception;
+
+// Thrown when the server is out of capacity for this kind of work right now (e.g. the
+// password-hashing queue is full). GlobalExceptionHandler turns it into a 503 with Retry-After.
+public class ServiceUnavailableException extends RuntimeException {
+    public ServiceUnavailableException(String message) {
+        super(message);
+    }
+}
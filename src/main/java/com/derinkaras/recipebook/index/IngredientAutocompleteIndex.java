@@ -0,0 +1,149 @@
+package com.derinkaras.recipebook.index;
+
+import com.derinkaras.recipebook.model.IngredientNames;
+import jakarta.annotation.PostConstruct;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+
+// Prefix search over ingredient names for the UI's ingredient picker.
+//
+// The structure is a sorted array of lower-cased keys, which is a flattened trie: every key
+// that starts with a given prefix sits in one contiguous run, found with a binary search.
+// Each word of a name gets its own key, so "oil" finds both "oil" and "olive oil".
+//
+//   keys: [ "basil", "black pepper", "oil", "olive oil", "olive oil", "pepper", ... ]
+//                                      ^--- prefix "ol" starts here (binary search)
+//
+// Within the matching run the k ingredients used by the most recipes win (usage counts are
+// kept by IngredientRecipeIndex on every link change, so ranking is a map lookup per match). The array is immutable and replaced on every ingredient
+// create/delete (copy-on-write), so lookups never take a lock. Ingredient writes are rare,
+// which makes copying the array on write the cheaper side of the trade.
+@Component
+public class IngredientAutocompleteIndex {
+
+    private final IngredientDictionary ingredientDictionary;
+    private final IngredientRecipeIndex ingredientRecipeIndex;
+
+    private volatile Entry[] entries = new Entry[0];
+
+    public IngredientAutocompleteIndex(IngredientDictionary ingredientDictionary,
+                                       IngredientRecipeIndex ingredientRecipeIndex) {
+        this.ingredientDictionary = ingredientDictionary;
+        this.ingredientRecipeIndex = ingredientRecipeIndex;
+    }
+
+    // The dictionary already holds every ingredient, so there is nothing to query
+    @PostConstruct
+    void load() {
+        List<Entry> all = new ArrayList<>();
+        ingredientDictionary.forEach((id, name) -> all.addAll(entriesFor(id, name)));
+        Entry[] sorted = all.toArray(new Entry[0]);
+        Arrays.sort(sorted, Entry.ORDER);
+        entries = sorted;
+    }
+
+    public synchronized void add(Long id, String name) {
+        List<Entry> added = entriesFor(id, name);
+        Entry[] current = entries;
+        Entry[] next = Arrays.copyOf(current, current.length + added.size());
+        for (int i = 0; i < added.size(); i++) {
+            next[current.length + i] = added.get(i);
+        }
+        Arrays.sort(next, Entry.ORDER);
+        entries = next;
+    }
+
+    // Several ingredients with a single copy of the array (bulk upserts)
+    public synchronized void addAll(Map<Long, String> namesById) {
+        List<Entry> added = new ArrayList<>();
+        namesById.forEach((id, name) -> added.addAll(entriesFor(id, name)));
+        Entry[] current = entries;
+        Entry[] next = Arrays.copyOf(current, current.length + added.size());
+        for (int i = 0; i < added.size(); i++) {
+            next[current.length + i] = added.get(i);
+        }
+        Arrays.sort(next, Entry.ORDER);
+        entries = next;
+    }
+
+    public synchronized void remove(Long id) {
+        entries = Arrays.stream(entries)
+                .filter(entry -> !entry.id().equals(id))
+                .toArray(Entry[]::new);
+    }
+
+    // Ids of up to limit ingredients with a word starting with prefix, most used first
+    public List<Long> complete(String prefix, int limit) {
+        String key = IngredientNames.normalize(prefix);
+        if (key == null || limit <= 0) {
+            return List.of();
+        }
+        Entry[] snapshot = entries;
+
+        Set<Long> matches = new LinkedHashSet<>();
+        for (int i = lowerBound(snapshot, key); i < snapshot.length && snapshot[i].key().startsWith(key); i++) {
+            matches.add(snapshot[i].id());
+        }
+
+        // Keep the best `limit` by recipe count in a min-heap; ties go to the shorter name
+        Comparator<Ranked> worstFirst = Comparator.comparingInt(Ranked::recipeCount)
+                .thenComparing(Comparator.comparingInt(Ranked::nameLength).reversed());
+        PriorityQueue<Ranked> heap = new PriorityQueue<>(worstFirst);
+        for (Long id : matches) {
+            String name = ingredientDictionary.nameOf(id);
+            heap.offer(new Ranked(id, ingredientRecipeIndex.recipeCount(id), name == null ? 0 : name.length()));
+            if (heap.size() > limit) {
+                heap.poll();
+            }
+        }
+        List<Ranked> best = new ArrayList<>(heap);
+        best.sort(worstFirst.reversed());
+        return best.stream().map(Ranked::id).toList();
+    }
+
+    // First index whose key is >= the prefix
+    private static int lowerBound(Entry[] sorted, String key) {
+        int low = 0;
+        int high = sorted.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (sorted[mid].key().compareTo(key) < 0) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    // One key for the full name plus one starting at every later word
+    private static List<Entry> entriesFor(Long id, String name) {
+        String normalized = IngredientNames.normalize(name);
+        List<Entry> result = new ArrayList<>();
+        if (normalized == null) {
+            return result;
+        }
+        result.add(new Entry(normalized, id));
+        for (int i = normalized.indexOf(' '); i >= 0; i = normalized.indexOf(' ', i + 1)) {
+            if (i + 1 < normalized.length()) {
+                result.add(new Entry(normalized.substring(i + 1), id));
+            }
+        }
+        return result;
+    }
+
+    private record Entry(String key, Long id) {
+        static final Comparator<Entry> ORDER = Comparator.comparing(Entry::key).thenComparing(Entry::id);
+    }
+
+    private record Ranked(Long id, int recipeCount, int nameLength) {
+    }
+}
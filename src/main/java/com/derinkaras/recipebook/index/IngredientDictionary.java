@@ -0,0 +1,149 @@
+package com.derinkaras.recipebook.index;
+
+import com.derinkaras.recipebook.model.Ingredient;
+import com.derinkaras.recipebook.respository.IngredientRepository;
+import jakarta.annotation.PostConstruct;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HexFormat;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BiConsumer;
+
+// In-memory copy of the ingredient table: id ↔ name.
+//
+// Ingredients are a small table that is read constantly (every recipe DTO lists ingredient
+// names, every create checks for duplicates) and written rarely. Keeping both directions in
+// memory turns those lookups into hash lookups instead of SELECTs.
+//
+// Consistency:
+//   - loaded once at startup from the database
+//   - IngredientService updates it after each create/delete COMMITS, so a rolled-back
+//     insert never shows up here
+//   - reads are lock-free; writes are synchronized so the two maps change together
+//
+// This is per application instance: with several instances behind a load balancer an
+// ingredient created on one node is not in the others' maps. Anything that takes ingredient
+// ids from a client or from the database goes through existing(), which looks up the ids it
+// has not seen with one query and adds them, so such an ingredient is only a miss once.
+@Component
+public class IngredientDictionary {
+
+    private final IngredientRepository ingredientRepository;
+    private final Map<Long, String> namesById = new ConcurrentHashMap<>();
+    private final Map<String, Long> idsByName = new ConcurrentHashMap<>();
+    // Cached result of fingerprint(); cleared by every put/remove
+    private volatile String fingerprint;
+
+    public IngredientDictionary(IngredientRepository ingredientRepository) {
+        this.ingredientRepository = ingredientRepository;
+    }
+
+    // Runs before the web server starts taking requests
+    @PostConstruct
+    void load() {
+        for (Ingredient ingredient : ingredientRepository.findAll()) {
+            put(ingredient.getId(), ingredient.getName());
+        }
+    }
+
+    // null if there is no ingredient with this id
+    public String nameOf(Long id) {
+        return namesById.get(id);
+    }
+
+    // null if there is no ingredient with this exact name
+    public Long idOf(String name) {
+        return idsByName.get(name);
+    }
+
+    public boolean contains(Long id) {
+        return namesById.containsKey(id);
+    }
+
+    // The ids (nulls dropped, in the given order) that name an existing ingredient. Ids this
+    // instance does not know yet are read with one findAllById and added to the maps; no query
+    // runs when every id is already known.
+    public Set<Long> existing(Collection<Long> ids) {
+        List<Long> missing = new ArrayList<>();
+        for (Long id : ids) {
+            if (id != null && !namesById.containsKey(id)) {
+                missing.add(id);
+            }
+        }
+        if (!missing.isEmpty()) {
+            for (Ingredient ingredient : ingredientRepository.findAllById(missing)) {
+                put(ingredient.getId(), ingredient.getName());
+            }
+        }
+        Set<Long> result = new LinkedHashSet<>();
+        for (Long id : ids) {
+            if (id != null && namesById.containsKey(id)) {
+                result.add(id);
+            }
+        }
+        return result;
+    }
+
+    public void forEach(BiConsumer<Long, String> action) {
+        namesById.forEach(action);
+    }
+
+    public int size() {
+        return namesById.size();
+    }
+
+    // SHA-256 over the sorted (id, name) pairs: the ETag of the ingredient listing.
+    // Computed at most once per change, so a conditional GET costs no query at all.
+    public String fingerprint() {
+        String current = fingerprint;
+        if (current == null) {
+            synchronized (this) {
+                current = fingerprint;
+                if (current == null) {
+                    current = digest(new TreeMap<>(namesById));
+                    fingerprint = current;
+                }
+            }
+        }
+        return current;
+    }
+
+    public synchronized void put(Long id, String name) {
+        String previous = namesById.put(id, name);
+        if (previous != null) {
+            idsByName.remove(previous);
+        }
+        idsByName.put(name, id);
+        fingerprint = null;
+    }
+
+    public synchronized void remove(Long id) {
+        String name = namesById.remove(id);
+        if (name != null) {
+            idsByName.remove(name);
+        }
+        fingerprint = null;
+    }
+
+    private static String digest(Map<Long, String> sortedNames) {
+        try {
+            MessageDigest sha256 = MessageDigest.getInstance("SHA-256");
+            sortedNames.forEach((id, name) ->
+                    sha256.update((id + ":" + name + "\n").getBytes(StandardCharsets.UTF_8)));
+            return HexFormat.of().formatHex(sha256.digest());
+        } catch (NoSuchAlgorithmException ex) {
+            // Every JVM is required to ship SHA-256
+            throw new IllegalStateException(ex);
+        }
+    }
+}
@@ -0,0 +1,234 @@
+package com.derinkaras.recipebook.index;
+
+import jakarta.annotation.PostConstruct;
+import org.roaringbitmap.IntIterator;
+import org.roaringbitmap.RoaringBitmap;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+// In-memory copy of the recipe_ingredient join table, shaped for "what can I cook?" queries.
+//
+// For every ingredient we keep a bitmap of the recipes that use it: bit N is set when recipe
+// id N contains the ingredient. Next to it we keep each recipe's ingredient ids so we can tell
+// what it is missing.
+//
+// The bitmaps are RoaringBitmaps, not java.util.BitSet. A BitSet is as long as its highest
+// set bit, so a rare ingredient used by a handful of recent recipes still costs one bit per
+// recipe id ever issued (about 1.2 MB each at id 10,000,000), and most ingredients are rare.
+// Roaring splits the id range into 65,536-id chunks and stores each chunk as a sorted array,
+// a bitmap or runs, whichever is smaller, so the size follows the number of links instead of
+// the highest id (IngredientRecipeIndexTest checks this at realistic id ranges).
+//
+// Matching a pantry against the whole catalog is then:
+//   1. OR the bitmaps of the pantry's ingredients → every recipe that uses at least one of them
+//   2. for each of those candidates, count the ingredients that are not in the pantry
+// No SQL and no "relational division" query, and the work is proportional to the recipes that
+// share an ingredient with the pantry, not to the size of the catalog.
+//
+// Built from the join table at startup and kept current through RecipeIndexUpdater.
+@Component
+public class IngredientRecipeIndex {
+
+    private static final String LOAD_SQL = "SELECT recipe_id, ingredient_id FROM recipe_ingredient";
+    private static final long[] NO_INGREDIENTS = new long[0];
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate readOnlyTransaction;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<Long, RoaringBitmap> recipesByIngredient = new HashMap<>();
+    private final Map<Long, long[]> ingredientsByRecipe = new HashMap<>();
+    // Cardinality of each bitmap, changed together with it under the write lock. Autocomplete
+    // ranks every ingredient matching the typed prefix by it on each keystroke, so it is read
+    // without the lock.
+    private final Map<Long, Integer> recipeCounts = new ConcurrentHashMap<>();
+
+    public IngredientRecipeIndex(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+    }
+
+    @PostConstruct
+    void load() {
+        Map<Long, List<Long>> links = new HashMap<>();
+        readOnlyTransaction.executeWithoutResult(status -> jdbcTemplate.query(con -> {
+            PreparedStatement ps = con.prepareStatement(LOAD_SQL, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+            ps.setFetchSize(1000);
+            return ps;
+        }, rs -> {
+            links.computeIfAbsent(rs.getLong("recipe_id"), id -> new ArrayList<>()).add(rs.getLong("ingredient_id"));
+        }));
+        links.forEach((recipeId, ingredientIds) -> update(recipeId, ingredientIds));
+        lock.writeLock().lock();
+        try {
+            // Turns dense stretches (popular ingredients) into run containers
+            recipesByIngredient.values().forEach(RoaringBitmap::runOptimize);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // Replaces whatever was known about the recipe with its current ingredient set
+    public void update(Long recipeId, Collection<Long> ingredientIds) {
+        int bit = bit(recipeId);
+        long[] ingredients = new LinkedHashSet<>(ingredientIds).stream().mapToLong(Long::longValue).toArray();
+        lock.writeLock().lock();
+        try {
+            removeLocked(recipeId);
+            if (ingredients.length == 0) {
+                return;
+            }
+            for (long ingredientId : ingredients) {
+                recipesByIngredient.computeIfAbsent(ingredientId, id -> new RoaringBitmap()).add(bit);
+                recipeCounts.merge(ingredientId, 1, Integer::sum);
+            }
+            ingredientsByRecipe.put(recipeId, ingredients);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(Long recipeId) {
+        lock.writeLock().lock();
+        try {
+            removeLocked(recipeId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void removeIngredient(Long ingredientId) {
+        lock.writeLock().lock();
+        try {
+            RoaringBitmap recipes = recipesByIngredient.remove(ingredientId);
+            recipeCounts.remove(ingredientId);
+            if (recipes == null) {
+                return;
+            }
+            for (IntIterator bits = recipes.getIntIterator(); bits.hasNext(); ) {
+                int bit = bits.next();
+                long[] ingredients = ingredientsByRecipe.get((long) bit);
+                if (ingredients != null) {
+                    long[] remaining = Arrays.stream(ingredients).filter(id -> id != ingredientId).toArray();
+                    ingredientsByRecipe.put((long) bit, remaining);
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // How many recipes use the ingredient (the bitmap's cardinality, kept up to date on writes)
+    public int recipeCount(Long ingredientId) {
+        return recipeCounts.getOrDefault(ingredientId, 0);
+    }
+
+    // Ids of the recipes that use the ingredient
+    public List<Long> recipesUsing(Long ingredientId) {
+        lock.readLock().lock();
+        try {
+            RoaringBitmap recipes = recipesByIngredient.get(ingredientId);
+            if (recipes == null) {
+                return List.of();
+            }
+            return recipes.stream().mapToObj(bit -> (long) bit).toList();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Recipes that can be made from the pantry with at most maxMissing extra ingredients,
+    // fewest missing first (then most ingredients used, then newest).
+    public List<PantryMatch> match(Set<Long> pantry, int maxMissing, int limit) {
+        List<PantryMatch> matches = new ArrayList<>();
+        lock.readLock().lock();
+        try {
+            RoaringBitmap candidates = new RoaringBitmap();
+            for (Long ingredientId : pantry) {
+                RoaringBitmap recipes = recipesByIngredient.get(ingredientId);
+                if (recipes != null) {
+                    candidates.or(recipes);
+                }
+            }
+            for (IntIterator bits = candidates.getIntIterator(); bits.hasNext(); ) {
+                int bit = bits.next();
+                long[] ingredients = ingredientsByRecipe.getOrDefault((long) bit, NO_INGREDIENTS);
+                List<Long> missing = new ArrayList<>();
+                for (long ingredientId : ingredients) {
+                    if (!pantry.contains(ingredientId)) {
+                        missing.add(ingredientId);
+                        if (missing.size() > maxMissing) {
+                            break;
+                        }
+                    }
+                }
+                if (missing.size() <= maxMissing) {
+                    matches.add(new PantryMatch(bit, ingredients.length - missing.size(), missing));
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        matches.sort(Comparator.comparingInt((PantryMatch match) -> match.missingIngredientIds().size())
+                .thenComparing(Comparator.comparingInt(PantryMatch::usedCount).reversed())
+                .thenComparing(Comparator.comparingLong(PantryMatch::recipeId).reversed()));
+        return matches.size() > limit ? matches.subList(0, limit) : matches;
+    }
+
+    private void removeLocked(Long recipeId) {
+        long[] previous = ingredientsByRecipe.remove(recipeId);
+        if (previous == null) {
+            return;
+        }
+        int bit = bit(recipeId);
+        for (long ingredientId : previous) {
+            RoaringBitmap recipes = recipesByIngredient.get(ingredientId);
+            if (recipes != null) {
+                recipes.remove(bit);
+                recipeCounts.computeIfPresent(ingredientId, (id, count) -> count == 1 ? null : count - 1);
+                if (recipes.isEmpty()) {
+                    recipesByIngredient.remove(ingredientId);
+                }
+            }
+        }
+    }
+
+    // Heap used by the bitmaps, as estimated by RoaringBitmap itself
+    long bitmapBytes() {
+        lock.readLock().lock();
+        try {
+            long bytes = 0;
+            for (RoaringBitmap recipes : recipesByIngredient.values()) {
+                bytes += recipes.getLongSizeInBytes();
+            }
+            return bytes;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Bit positions are ints; fails loudly if recipe ids ever outgrow them
+    private static int bit(Long recipeId) {
+        return Math.toIntExact(recipeId);
+    }
+
+    public record PantryMatch(long recipeId, int usedCount, List<Long> missingIngredientIds) {
+    }
+}
@@ -0,0 +1,41 @@
+package com.derinkaras.recipebook.index;
+
+import com.derinkaras.recipebook.cache.RecipeCache;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+
+// Single place that tells every in-memory recipe structure about a recipe write
+// (the indexes in this package and the RecipeDto cache).
+//
+// The services that write recipes (RecipeService, the bulk importer, ...) call this after their
+// transaction commits (see service.AfterCommit), so adding another index only means adding
+// it here instead of touching every write path.
+@Component
+public class RecipeIndexUpdater {
+
+    private final RecipeSearchIndex searchIndex;
+    private final IngredientRecipeIndex ingredientRecipeIndex;
+    private final RecipeCache recipeCache;
+
+    public RecipeIndexUpdater(RecipeSearchIndex searchIndex,
+                              IngredientRecipeIndex ingredientRecipeIndex,
+                              RecipeCache recipeCache) {
+        this.searchIndex = searchIndex;
+        this.ingredientRecipeIndex = ingredientRecipeIndex;
+        this.recipeCache = recipeCache;
+    }
+
+    // A recipe was created or changed. ingredientIds is its complete ingredient set.
+    public void saved(Long recipeId, String title, String description, Collection<Long> ingredientIds) {
+        searchIndex.index(recipeId, title, description);
+        ingredientRecipeIndex.update(recipeId, ingredientIds);
+        recipeCache.invalidate(recipeId);
+    }
+
+    public void deleted(Long recipeId) {
+        searchIndex.remove(recipeId);
+        ingredientRecipeIndex.remove(recipeId);
+        recipeCache.invalidate(recipeId);
+    }
+}
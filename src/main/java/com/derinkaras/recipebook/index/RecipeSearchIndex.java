@@ -0,0 +1,306 @@
+package com.derinkaras.recipebook.index;
+
+import jakarta.annotation.PostConstruct;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+// In-memory inverted index over Recipe.title and Recipe.description for full-text search.
+//
+// An inverted index maps each word to the recipes containing it ("postings"):
+//
+//   "tomato" → ids [12, 57, ...]  tfs [4, 1, ...]     recipe ids (sorted) and weighted term frequencies
+//
+// Each posting list is a pair of parallel primitive arrays, 12 bytes per posting. A
+// Map<Long, Integer> per term costs about 100 bytes per posting (entry, boxed key and value),
+// which at catalog size is gigabytes for what is mostly an array of ids. Lookups and removals
+// binary-search the ids; new recipes have the highest ids, so adding one is an append.
+// A recipe's own term list points at the same String instances as the postings map.
+//
+// A search only visits the postings of the words in the query, so its cost depends on how
+// common those words are, not on how many recipes exist. Results are ranked with BM25, the
+// standard relevance formula: rare words count more than common ones, repeated words count
+// more (with diminishing returns) and long descriptions are normalized so they don't win
+// just by containing more words. A word in the title counts TITLE_WEIGHT times.
+//
+// The index is built from the database at startup and then kept current by RecipeService
+// (create/update/delete) and the bulk importer, always after the transaction commits.
+// Like IngredientDictionary it lives in this instance's memory only.
+@Component
+public class RecipeSearchIndex {
+
+    static final int TITLE_WEIGHT = 3;
+    private static final double K1 = 1.2;
+    private static final double B = 0.75;
+
+    private static final Set<String> STOP_WORDS = Set.of(
+            "a", "an", "and", "are", "as", "at", "be", "by", "for", "from", "in", "into", "is",
+            "it", "of", "on", "or", "the", "then", "to", "with"
+    );
+
+    // In id order, so every posting list is built by appends
+    private static final String LOAD_SQL = "SELECT id, title, description FROM recipe ORDER BY id";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate readOnlyTransaction;
+
+    // All guarded by lock: many concurrent searches, one writer at a time
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<String, PostingList> postings = new HashMap<>();
+    private final Map<Long, String[]> termsByRecipe = new HashMap<>();
+    private final Map<Long, Integer> lengthByRecipe = new HashMap<>();
+    private long totalLength;
+
+    public RecipeSearchIndex(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+    }
+
+    // Streams the recipe table once (plain JDBC with a fetch size, no entities) and indexes it
+    @PostConstruct
+    void load() {
+        readOnlyTransaction.executeWithoutResult(status -> jdbcTemplate.query(con -> {
+            PreparedStatement ps = con.prepareStatement(LOAD_SQL, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+            ps.setFetchSize(1000);
+            return ps;
+        }, rs -> {
+            index(rs.getLong("id"), rs.getString("title"), rs.getString("description"));
+        }));
+        compact();
+    }
+
+    // Drops the spare capacity the posting lists grew while loading
+    void compact() {
+        lock.writeLock().lock();
+        try {
+            postings.values().forEach(PostingList::trim);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // Adds the recipe, or replaces what was indexed for it before
+    public void index(Long recipeId, String title, String description) {
+        Map<String, Integer> frequencies = new HashMap<>();
+        int length = 0;
+        for (String term : tokenize(title)) {
+            frequencies.merge(term, TITLE_WEIGHT, Integer::sum);
+            length += TITLE_WEIGHT;
+        }
+        for (String term : tokenize(description)) {
+            frequencies.merge(term, 1, Integer::sum);
+            length++;
+        }
+
+        lock.writeLock().lock();
+        try {
+            removeLocked(recipeId);
+            String[] terms = new String[frequencies.size()];
+            int i = 0;
+            for (Map.Entry<String, Integer> entry : frequencies.entrySet()) {
+                PostingList termPostings = postings.computeIfAbsent(entry.getKey(), PostingList::new);
+                termPostings.put(recipeId, entry.getValue());
+                terms[i++] = termPostings.term;
+            }
+            termsByRecipe.put(recipeId, terms);
+            lengthByRecipe.put(recipeId, length);
+            totalLength += length;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(Long recipeId) {
+        lock.writeLock().lock();
+        try {
+            removeLocked(recipeId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // Returns up to limit recipe ids, best match first. Recipes matching any query word qualify.
+    public List<Long> search(String query, int limit) {
+        Set<String> terms = new LinkedHashSet<>(tokenize(query));
+        if (terms.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+
+        lock.readLock().lock();
+        try {
+            int documentCount = lengthByRecipe.size();
+            if (documentCount == 0) {
+                return List.of();
+            }
+            double averageLength = (double) totalLength / documentCount;
+
+            Map<Long, Double> scores = new HashMap<>();
+            for (String term : terms) {
+                PostingList termPostings = postings.get(term);
+                if (termPostings == null) {
+                    continue;
+                }
+                int df = termPostings.size;
+                double idf = Math.log(1 + (documentCount - df + 0.5) / (df + 0.5));
+                for (int i = 0; i < df; i++) {
+                    long recipeId = termPostings.ids[i];
+                    int tf = termPostings.tfs[i];
+                    int length = lengthByRecipe.get(recipeId);
+                    double norm = tf + K1 * (1 - B + B * length / averageLength);
+                    scores.merge(recipeId, idf * tf * (K1 + 1) / norm, Double::sum);
+                }
+            }
+            return topK(scores, limit);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return lengthByRecipe.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Heap used by the posting arrays (ids and term frequencies, including spare capacity)
+    long postingBytes() {
+        lock.readLock().lock();
+        try {
+            long bytes = 0;
+            for (PostingList termPostings : postings.values()) {
+                bytes += (long) termPostings.ids.length * Long.BYTES + (long) termPostings.tfs.length * Integer.BYTES;
+            }
+            return bytes;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Lower-cases and splits on anything that isn't a letter or digit, dropping stop words
+    // and single characters. The same function is used for documents and queries.
+    static List<String> tokenize(String text) {
+        if (text == null || text.isBlank()) {
+            return List.of();
+        }
+        List<String> terms = new ArrayList<>();
+        for (String token : text.toLowerCase(Locale.ROOT).split("[^\\p{L}\\p{N}]+")) {
+            if (token.length() > 1 && !STOP_WORDS.contains(token)) {
+                terms.add(token);
+            }
+        }
+        return terms;
+    }
+
+    private void removeLocked(Long recipeId) {
+        String[] terms = termsByRecipe.remove(recipeId);
+        if (terms == null) {
+            return;
+        }
+        for (String term : terms) {
+            PostingList termPostings = postings.get(term);
+            if (termPostings != null) {
+                termPostings.remove(recipeId);
+                if (termPostings.size == 0) {
+                    postings.remove(term);
+                }
+            }
+        }
+        Integer length = lengthByRecipe.remove(recipeId);
+        if (length != null) {
+            totalLength -= length;
+        }
+    }
+
+    // Keeps only the best k scores in a min-heap instead of sorting every match.
+    // Ties are broken by the newer (higher) id.
+    private static List<Long> topK(Map<Long, Double> scores, int k) {
+        PriorityQueue<Map.Entry<Long, Double>> heap = new PriorityQueue<>(
+                (a, b) -> {
+                    int byScore = Double.compare(a.getValue(), b.getValue());
+                    return byScore != 0 ? byScore : Long.compare(a.getKey(), b.getKey());
+                });
+        for (Map.Entry<Long, Double> entry : scores.entrySet()) {
+            heap.offer(entry);
+            if (heap.size() > k) {
+                heap.poll();
+            }
+        }
+        List<Long> ids = new ArrayList<>(heap.size());
+        while (!heap.isEmpty()) {
+            ids.add(heap.poll().getKey());
+        }
+        Collections.reverse(ids);
+        return ids;
+    }
+
+    // The recipes containing one term: ids sorted ascending, tfs[i] belonging to ids[i].
+    // Only touched under the index lock.
+    private static final class PostingList {
+
+        private static final int INITIAL_CAPACITY = 4;
+
+        final String term;
+        long[] ids = new long[INITIAL_CAPACITY];
+        int[] tfs = new int[INITIAL_CAPACITY];
+        int size;
+
+        PostingList(String term) {
+            this.term = term;
+        }
+
+        void put(long recipeId, int tf) {
+            int i = (size > 0 && ids[size - 1] < recipeId) ? -(size + 1) : Arrays.binarySearch(ids, 0, size, recipeId);
+            if (i >= 0) {
+                tfs[i] = tf;
+                return;
+            }
+            int at = -(i + 1);
+            if (size == ids.length) {
+                int capacity = size + Math.max(size >> 1, 1);
+                ids = Arrays.copyOf(ids, capacity);
+                tfs = Arrays.copyOf(tfs, capacity);
+            }
+            System.arraycopy(ids, at, ids, at + 1, size - at);
+            System.arraycopy(tfs, at, tfs, at + 1, size - at);
+            ids[at] = recipeId;
+            tfs[at] = tf;
+            size++;
+        }
+
+        void remove(long recipeId) {
+            int i = Arrays.binarySearch(ids, 0, size, recipeId);
+            if (i < 0) {
+                return;
+            }
+            System.arraycopy(ids, i + 1, ids, i, size - i - 1);
+            System.arraycopy(tfs, i + 1, tfs, i, size - i - 1);
+            size--;
+        }
+
+        void trim() {
+            if (ids.length > size) {
+                ids = Arrays.copyOf(ids, size);
+                tfs = Arrays.copyOf(tfs, size);
+            }
+        }
+    }
+}
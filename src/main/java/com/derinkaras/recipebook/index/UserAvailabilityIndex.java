@@ -0,0 +1,74 @@
+package com.derinkaras.recipebook.index;
+
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+
+// Bloom filters over every taken username and email, for the signup form's availability check.
+//
+// "Is this name free?" is asked on every keystroke and the answer is almost always "yes".
+// A Bloom filter answers "definitely free" from memory; only when it says "maybe taken" does
+// UserService confirm with an existsBy query. With a 1% false-positive rate that means
+// roughly one query per hundred checks of free names.
+//
+// Built from the users table at startup and told about new values after register/update
+// commit. Values are never removed (changed usernames stay "maybe taken"), which only costs
+// an occasional extra query. Like the other indexes it is per instance; the unique
+// constraints on users stay the real guard at registration time.
+@Component
+public class UserAvailabilityIndex {
+
+    private static final String LOAD_SQL = "SELECT username, email FROM users";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate readOnlyTransaction;
+    private final BloomFilter usernames;
+    private final BloomFilter emails;
+
+    public UserAvailabilityIndex(JdbcTemplate jdbcTemplate,
+                                 PlatformTransactionManager transactionManager,
+                                 @Value("${recipebook.availability.expected-users:1000000}") long expectedUsers,
+                                 @Value("${recipebook.availability.false-positive-rate:0.01}") double falsePositiveRate) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.usernames = new BloomFilter(expectedUsers, falsePositiveRate);
+        this.emails = new BloomFilter(expectedUsers, falsePositiveRate);
+    }
+
+    @PostConstruct
+    void load() {
+        readOnlyTransaction.executeWithoutResult(status -> jdbcTemplate.query(con -> {
+            PreparedStatement ps = con.prepareStatement(LOAD_SQL, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+            ps.setFetchSize(1000);
+            return ps;
+        }, rs -> {
+            add(rs.getString("username"), rs.getString("email"));
+        }));
+    }
+
+    // false means definitely not taken; true means "ask the database"
+    public boolean mightHaveUsername(String username) {
+        return usernames.mightContain(username);
+    }
+
+    public boolean mightHaveEmail(String email) {
+        return emails.mightContain(email);
+    }
+
+    // Either value may be null (e.g. an update that only changes one of them)
+    public void add(String username, String email) {
+        if (username != null) {
+            usernames.add(username);
+        }
+        if (email != null) {
+            emails.add(email);
+        }
+    }
+}
@@ -1,8 +1,12 @@
 package com.derinkaras.recipebook.mapper;
 
+import com.derinkaras.recipebook.dto.recipe.RecipeRow;
 import com.derinkaras.recipebook.model.Recipe;
 import com.derinkaras.recipebook.dto.recipe.RecipeDto;
+import java.util.Comparator;
 import java.util.List;
+import java.util.Objects;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 public class RecipeMapper {
@@ -14,6 +18,7 @@ public class RecipeMapper {
         recipeDto.setDescription(recipe.getDescription());
         recipeDto.setDifficulty(recipe.getDifficulty());
         recipeDto.setCreatedAt(recipe.getCreatedAt());
+        recipeDto.setVersion(recipe.getVersion());
 
         // Because they can live independently of each other
         if (recipe.getOwner() != null) {
@@ -32,5 +37,42 @@ public class RecipeMapper {
 
     }
 
+    // Same as toDto(recipe), but the names are looked up by ingredient id (normally
+    // IngredientDictionary::nameOf) instead of read from the Ingredient entities. Reading only
+    // ingredient.getId() does not initialize a lazy proxy, so this never loads an ingredient row.
+    public static RecipeDto toDto(Recipe recipe, Function<Long, String> ingredientNames) {
+        RecipeDto recipeDto = new RecipeDto();
+        recipeDto.setId(recipe.getId());
+        recipeDto.setTitle(recipe.getTitle());
+        recipeDto.setDescription(recipe.getDescription());
+        recipeDto.setDifficulty(recipe.getDifficulty());
+        recipeDto.setCreatedAt(recipe.getCreatedAt());
+        recipeDto.setVersion(recipe.getVersion());
+        if (recipe.getOwner() != null) {
+            recipeDto.setOwnerId(recipe.getOwner().getId());
+        }
+        recipeDto.setIngredientNames(recipe.getIngredients().stream()
+                .map(ingredient -> ingredientNames.apply(ingredient.getId()))
+                .filter(Objects::nonNull)
+                .sorted(Comparator.naturalOrder())
+                .collect(Collectors.toList()));
+        return recipeDto;
+    }
+
+    // Same DTO, built from the read-only projection instead of a managed entity.
+    // The ingredient names are looked up separately (one query for a whole page of rows).
+    public static RecipeDto toDto(RecipeRow row, List<String> ingredientNames) {
+        RecipeDto recipeDto = new RecipeDto();
+        recipeDto.setId(row.id());
+        recipeDto.setTitle(row.title());
+        recipeDto.setDescription(row.description());
+        recipeDto.setDifficulty(row.difficulty());
+        recipeDto.setCreatedAt(row.createdAt());
+        recipeDto.setVersion(row.version());
+        recipeDto.setOwnerId(row.ownerId());
+        recipeDto.setIngredientNames(ingredientNames);
+        return recipeDto;
+    }
+
 
 }
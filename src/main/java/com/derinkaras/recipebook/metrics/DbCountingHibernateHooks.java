@@ -0,0 +1,18 @@
+package com.derinkaras.recipebook.metrics;
+
+import org.hibernate.Interceptor;
+import org.hibernate.type.Type;
+
+// Registered once for the whole SessionFactory (MetricsConfig): counts every entity Hibernate
+// hydrates into RequestDbCounters.
+//
+// Statements are counted one level lower, by StatementCountingDataSource, so that JdbcTemplate
+// work (bulk upserts, user deletion, the import) is included alongside Hibernate's own SQL.
+public class DbCountingHibernateHooks implements Interceptor {
+
+    @Override
+    public boolean onLoad(Object entity, Object id, Object[] state, String[] propertyNames, Type[] types) {
+        RequestDbCounters.entityLoaded();
+        return false;
+    }
+}
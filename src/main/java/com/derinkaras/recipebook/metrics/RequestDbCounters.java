@@ -0,0 +1,49 @@
+package com.derinkaras.recipebook.metrics;
+
+// Per-request tally of SQL statements and entity loads, kept in a ThreadLocal.
+//
+// RequestDbMetricsFilter opens a tally for each request and records it when the request ends;
+// StatementCountingDataSource counts the statements and DbCountingHibernateHooks the entity loads. Work on threads without an open tally
+// (async jobs, the streaming export, startup) is not counted, and the hooks then cost one
+// ThreadLocal lookup.
+public final class RequestDbCounters {
+
+    private static final ThreadLocal<Counts> CURRENT = new ThreadLocal<>();
+
+    private RequestDbCounters() {
+    }
+
+    static void begin() {
+        CURRENT.set(new Counts());
+    }
+
+    static Counts end() {
+        Counts counts = CURRENT.get();
+        CURRENT.remove();
+        return counts;
+    }
+
+    static boolean active() {
+        return CURRENT.get() != null;
+    }
+
+    static void statementExecuted() {
+        Counts counts = CURRENT.get();
+        if (counts != null) {
+            counts.statements++;
+        }
+    }
+
+    static void entityLoaded() {
+        Counts counts = CURRENT.get();
+        if (counts != null) {
+            counts.entityLoads++;
+        }
+    }
+
+    // Only ever touched by the request's own thread, so plain fields are enough
+    static final class Counts {
+        long statements;
+        long entityLoads;
+    }
+}
@@ -0,0 +1,50 @@
+package com.derinkaras.recipebook.metrics;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+
+// Records how many SQL statements and entity loads each request caused, as the summaries
+//   recipebook.request.statements and recipebook.request.entity.loads
+// tagged with the same method/uri as http.server.requests, so an endpoint whose p99 latency
+// climbs can be checked for an N+1 pattern next to it.
+public class RequestDbMetricsFilter extends OncePerRequestFilter {
+
+    private final MeterRegistry meterRegistry;
+
+    public RequestDbMetricsFilter(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        RequestDbCounters.begin();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            RequestDbCounters.Counts counts = RequestDbCounters.end();
+            // Unmatched requests (404s, static resources) would give each URL its own tag
+            Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+            if (pattern != null) {
+                summary("recipebook.request.statements", request, pattern).record(counts.statements);
+                summary("recipebook.request.entity.loads", request, pattern).record(counts.entityLoads);
+            }
+        }
+    }
+
+    // The registry returns the already-registered meter for a known name+tags
+    private DistributionSummary summary(String name, HttpServletRequest request, Object pattern) {
+        return DistributionSummary.builder(name)
+                .tag("method", request.getMethod())
+                .tag("uri", pattern.toString())
+                .register(meterRegistry);
+    }
+}
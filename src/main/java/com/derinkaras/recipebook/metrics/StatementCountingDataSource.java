@@ -0,0 +1,80 @@
+package com.derinkaras.recipebook.metrics;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Set;
+
+// DataSource wrapper that counts every statement execution into RequestDbCounters, whoever
+// issues it: Hibernate, JdbcTemplate (bulk upserts, user deletion, the import) or a raw
+// Connection. Counting here rather than in a Hibernate StatementInspector is what makes
+// recipebook.request.statements cover the JdbcTemplate paths too.
+//
+// One executeBatch() counts once, the same as one round trip. A connection taken on a thread
+// without an open tally (async jobs, the streaming export, Flyway at startup) is handed out
+// unwrapped, so outside requests this costs one ThreadLocal lookup per getConnection().
+public class StatementCountingDataSource extends DelegatingDataSource {
+
+    private static final Set<String> EXECUTE_METHODS = Set.of(
+            "execute", "executeQuery", "executeUpdate", "executeLargeUpdate", "executeBatch", "executeLargeBatch");
+
+    public StatementCountingDataSource(DataSource target) {
+        super(target);
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return counting(super.getConnection());
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return counting(super.getConnection(username, password));
+    }
+
+    private static Connection counting(Connection target) {
+        if (!RequestDbCounters.active()) {
+            return target;
+        }
+        return (Connection) Proxy.newProxyInstance(
+                Connection.class.getClassLoader(),
+                new Class<?>[]{Connection.class},
+                (proxy, method, args) -> {
+                    Object result = invoke(target, method, args);
+                    return switch (method.getName()) {
+                        case "createStatement" -> counting((Statement) result, Statement.class);
+                        case "prepareStatement" -> counting((Statement) result, PreparedStatement.class);
+                        case "prepareCall" -> counting((Statement) result, CallableStatement.class);
+                        default -> result;
+                    };
+                });
+    }
+
+    private static Statement counting(Statement target, Class<? extends Statement> type) {
+        return (Statement) Proxy.newProxyInstance(
+                Statement.class.getClassLoader(),
+                new Class<?>[]{type},
+                (proxy, method, args) -> {
+                    if (EXECUTE_METHODS.contains(method.getName())) {
+                        RequestDbCounters.statementExecuted();
+                    }
+                    return invoke(target, method, args);
+                });
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException ex) {
+            throw ex.getTargetException();
+        }
+    }
+}
@@ -1,14 +1,22 @@
 package com.derinkaras.recipebook.model;
 
 import jakarta.persistence.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import java.util.HashSet;
 import java.util.Set;
 
+// Second-level cached (region settings in ehcache.xml): ingredients are reference data that is
+// read constantly and written rarely. READ_WRITE keeps the cache consistent with transactions.
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
 public class Ingredient {
+    // Sequence-backed and pooled like Recipe.id (see the comment there)
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "ingredient_id_seq")
+    @SequenceGenerator(name = "ingredient_id_seq", sequenceName = "ingredient_id_seq", allocationSize = Recipe.ID_ALLOCATION_SIZE)
     private Long id;
 
     @Column(nullable = false, unique = true)
@@ -0,0 +1,23 @@
+package com.derinkaras.recipebook.model;
+
+import java.util.Locale;
+
+// The canonical form of an ingredient name: trimmed, inner whitespace collapsed to one space,
+// lower-cased. "  Olive   Oil " and "olive oil" are the same ingredient, so every write path
+// (create, bulk upsert, recipe names, autocomplete) stores and looks names up in this form.
+// Names stored before it existed were folded into it by V4__normalize_ingredient_names.sql,
+// whose unique index on the same expression rejects case/spacing duplicates from any writer.
+public final class IngredientNames {
+
+    private IngredientNames() {
+    }
+
+    // null/blank → null
+    public static String normalize(String name) {
+        if (name == null) {
+            return null;
+        }
+        String normalized = name.trim().replaceAll("\\s+", " ").toLowerCase(Locale.ROOT);
+        return normalized.isEmpty() ? null : normalized;
+    }
+}
@@ -1,15 +1,49 @@
 package com.derinkaras.recipebook.model;
 
 import jakarta.persistence.*;
+import org.hibernate.annotations.BatchSize;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.ColumnDefault;
+import org.hibernate.annotations.DynamicUpdate;
 
 import java.time.LocalDateTime;
 import java.util.HashSet;
 import java.util.Set;
 
+// Named fetch plan used by the read paths in RecipeRepository.
+//
+// RecipeMapper.toDto walks recipe.getIngredients(), so loading N recipes and then letting each
+// one lazily load its ingredients costs 1 + N queries (the classic "N+1"). Repository methods
+// annotated with @EntityGraph("Recipe.withIngredients") fetch-join the ingredients instead,
+// so the whole listing comes back in ONE select.
+//
+// @DynamicUpdate: Hibernate normally sends every column in each UPDATE (one prepared statement
+// per entity). With it, the UPDATE lists only the columns that actually changed, so a PATCH
+// of the title does not rewrite the 2000-char description.
 @Entity
+@DynamicUpdate
+@NamedEntityGraph(
+        name = "Recipe.withIngredients",
+        attributeNodes = @NamedAttributeNode("ingredients")
+)
 public class Recipe {
+    // SEQUENCE instead of IDENTITY: with IDENTITY the id only exists after the INSERT runs,
+    // so Hibernate has to execute every insert immediately and cannot batch them.
+    // With a sequence the id is known up front and inserts can be sent as JDBC batches.
+    //
+    // The sequence is "<table>_id_seq". Databases from before Flyway had an identity column
+    // instead; V3__legacy_schema.sql replaces it with this sequence, counting on from the
+    // highest existing id.
+    //
+    // ID_ALLOCATION_SIZE matches the sequence's INCREMENT BY (V5__pooled_id_sequences.sql), so
+    // Hibernate's pooled optimizer takes a block of 50 ids per nextval() and a batch of inserts
+    // costs one sequence round trip. RecipeImportService reserves its ids in the same blocks.
+    public static final int ID_ALLOCATION_SIZE = 50;
+
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "recipe_id_seq")
+    @SequenceGenerator(name = "recipe_id_seq", sequenceName = "recipe_id_seq", allocationSize = ID_ALLOCATION_SIZE)
     private Long id;
 
     @Column(nullable = false)
@@ -22,7 +56,20 @@ public class Recipe {
 
     private LocalDateTime createdAt = LocalDateTime.now();
 
-    @ManyToOne
+    // Optimistic-locking counter. Hibernate bumps it on every UPDATE of the recipe (including
+    // changes to its ingredient set) and adds "where version = ?" to that UPDATE, so two
+    // concurrent edits cannot silently overwrite each other.
+    // It is also the recipe's HTTP ETag (see RecipeController). The column comes from V1, or from
+    // V3 for databases created before Flyway; old rows start at 0.
+    @Version
+    @ColumnDefault("0")
+    @Column(nullable = false)
+    private Long version;
+
+    // LAZY so loading a recipe does not also SELECT its owner (a @ManyToOne is EAGER by default).
+    // The mapper only needs owner.getId(), and Hibernate answers getId() straight from the
+    // proxy's foreign key value without touching the users table.
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name="owner_id")
     private User owner;
 
@@ -41,7 +88,17 @@ public class Recipe {
     //   joinColumns        = FK to the entity where the annotation is written.
     //   inverseJoinColumns = FK to the related entity on the other side of the relationship.
 
+    // @BatchSize covers the queries that cannot fetch-join a collection (the paginated ones:
+    // a fetch join + LIMIT would make Hibernate paginate in memory). When the first recipe's
+    // ingredients are touched, Hibernate loads the ingredient sets of up to 100 recipes
+    // from the same page in a single "WHERE recipe_id = ANY(?)" query.
+    //
+    // @Cache keeps each recipe's ingredient ids in the second-level cache, so lazily loading the
+    // collection (outside the "Recipe.withIngredients" fetch join) needs no query: the ids come
+    // from this region and the Ingredient rows from the Ingredient region.
     @ManyToMany
+    @BatchSize(size = 100)
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
     @JoinTable(
             name="recipe_ingredient",
             joinColumns = @JoinColumn(name="recipe_id"),
@@ -89,6 +146,14 @@ public class Recipe {
         this.createdAt = createdAt;
     }
 
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+
     public User getOwner() {
         return owner;
     }
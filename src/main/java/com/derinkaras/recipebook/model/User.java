@@ -1,16 +1,24 @@
 package com.derinkaras.recipebook.model;
 
 import jakarta.persistence.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
 
+// Second-level cached: recipe writes look up the owner by id. Note the profile (inverse side of
+// the one-to-one) is still selected separately when a User comes out of the cache.
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
 @Table(name="users") // avoid the reserved key word "user"
 public class User {
+    // Sequence-backed and pooled like Recipe.id (see the comment there)
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "users_id_seq")
+    @SequenceGenerator(name = "users_id_seq", sequenceName = "users_id_seq", allocationSize = Recipe.ID_ALLOCATION_SIZE)
     private Long id;
 
     @Column(nullable = false, unique = true)
@@ -1,8 +1,20 @@
 package com.derinkaras.recipebook.respository;
 
 import com.derinkaras.recipebook.model.Ingredient;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.QueryHints;
+
+import java.util.List;
 
 public interface IngredientRepository extends JpaRepository<Ingredient,Long> {
     Ingredient findByName(String name);
+
+    // The full ingredient list (GET /api/v1/ingredient) rarely changes, so its result goes in the
+    // query cache. Hibernate drops it automatically whenever the ingredient table is written
+    // through JPA; JDBC inserts (IngredientService.resolveNames) evict it themselves.
+    @Override
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    List<Ingredient> findAll();
 }
@@ -1,9 +1,19 @@
 package com.derinkaras.recipebook.respository;
 
+import com.derinkaras.recipebook.dto.recipe.RecipeIngredientLink;
+import com.derinkaras.recipebook.dto.recipe.RecipeRow;
 import com.derinkaras.recipebook.model.Recipe;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 public interface RecipeRepository extends JpaRepository<Recipe, Long> {
     // Spring Data JPA automatically implements this method using its
@@ -17,6 +27,149 @@ public interface RecipeRepository extends JpaRepository<Recipe, Long> {
     //   SELECT * FROM recipes WHERE owner_id = :ownerId
     //
     // No manual SQL or implementation needed — Spring generates it from the name.
+    //
+    // @EntityGraph applies the "Recipe.withIngredients" fetch plan declared on the entity,
+    // so the ingredients come back in the same SELECT instead of one extra query per recipe.
+    @EntityGraph("Recipe.withIngredients")
     List<Recipe> findByOwnerId(Long ownerId);
-}
 
+    // Re-declared from JpaRepository only to attach the fetch plan.
+    // The API reads use the projections further down; these entity versions remain for the
+    // write paths (update loads the recipe through findById) and for anything that needs
+    // a managed Recipe.
+    @Override
+    @EntityGraph("Recipe.withIngredients")
+    List<Recipe> findAll();
+
+    @Override
+    @EntityGraph("Recipe.withIngredients")
+    Optional<Recipe> findById(Long id);
+
+    // ---------------------------------------------------------------------------------
+    // Read model (projections)
+    //
+    // Everything below selects straight into RecipeRow records / RecipeIngredientLink projections
+    // instead of Recipe entities. The service stitches a page of rows together with ONE query for
+    // their ingredient ids (names come from IngredientDictionary), so a listing costs exactly two
+    // selects and never hydrates an entity.
+    // ---------------------------------------------------------------------------------
+
+    // Constant so every projection selects the same columns in the same order as RecipeRow.
+    // r.owner.id is read from the owner_id column; Hibernate does not join the users table for it.
+    String ROW = "select new com.derinkaras.recipebook.dto.recipe.RecipeRow("
+            + "r.id, r.title, r.description, r.difficulty, r.createdAt, r.version, r.owner.id) from Recipe r ";
+
+    // The join table is not an entity, so the ingredient links are read with plain SQL.
+    // Quoted aliases keep Postgres from lower-casing them, so they match RecipeIngredientLink.
+    String LINK = "select ri.recipe_id as \"recipeId\", ri.ingredient_id as \"ingredientId\" "
+            + "from recipe_ingredient ri ";
+
+    @Query(ROW + "order by r.id")
+    List<RecipeRow> findAllRows();
+
+    long countByOwnerId(Long ownerId);
+
+    @Query(ROW + "where r.owner.id = :ownerId order by r.id")
+    List<RecipeRow> findRowsByOwnerId(@Param("ownerId") Long ownerId);
+
+    @Query(ROW + "where r.id = :id")
+    Optional<RecipeRow> findRowById(@Param("id") Long id);
+
+    @Query(ROW + "where r.id in :ids")
+    List<RecipeRow> findRowsByIds(@Param("ids") Collection<Long> ids);
+
+    // ---------------------------------------------------------------------------------
+    // ETags (conditional GET)
+    //
+    // These answer "has it changed?" without loading the rows themselves: a single recipe's
+    // version, or three aggregates over the rows of a listing. Any insert, delete or update
+    // (which bumps the version) changes the digest.
+    // ---------------------------------------------------------------------------------
+
+    @Query("select r.version from Recipe r where r.id = :id")
+    Optional<Long> findVersionById(@Param("id") Long id);
+
+    // A listing's tag is count-maxId-sumOfVersions. Ids come from a sequence, so an insert
+    // always raises max(id) (even with a delete in the same interval); a delete without a
+    // surviving insert lowers count(*); and an update raises sum(version). One pass over the rows
+    // with three running aggregates: no sort and no string built per row, unlike an md5 over
+    // string_agg(id:version ORDER BY id).
+    @Query(value = "select count(*) || '-' || coalesce(max(id), 0) || '-' || coalesce(sum(version), 0) "
+            + "from recipe", nativeQuery = true)
+    String digestAll();
+
+    @Query(value = "select count(*) || '-' || coalesce(max(id), 0) || '-' || coalesce(sum(version), 0) "
+            + "from recipe where owner_id = :ownerId", nativeQuery = true)
+    String digestByOwnerId(@Param("ownerId") Long ownerId);
+
+    // Deleting an ingredient changes the ingredient names of every recipe that used it without
+    // touching the recipe rows, so their versions (ETags) are bumped by hand.
+    @Modifying
+    @Query(value = "update recipe set version = version + 1 "
+            + "where id in (select recipe_id from recipe_ingredient where ingredient_id = :ingredientId)",
+            nativeQuery = true)
+    int incrementVersionsUsingIngredient(@Param("ingredientId") Long ingredientId);
+
+    // recipe_ingredient.ingredient_id has no ON DELETE CASCADE, so the links go first
+    @Modifying
+    @Query(value = "delete from recipe_ingredient where ingredient_id = :ingredientId", nativeQuery = true)
+    int deleteIngredientLinks(@Param("ingredientId") Long ingredientId);
+
+    // Three flavours of the ingredient lookup, matching the three ways rows are selected.
+    // The "all"/"owner" versions exist so we never build an IN list with every recipe id in it.
+    @Query(value = LINK, nativeQuery = true)
+    List<RecipeIngredientLink> findAllIngredientLinks();
+
+    @Query(value = LINK + "join recipe r on r.id = ri.recipe_id where r.owner_id = :ownerId", nativeQuery = true)
+    List<RecipeIngredientLink> findIngredientLinksByOwnerId(@Param("ownerId") Long ownerId);
+
+    @Query(value = LINK + "where ri.recipe_id in (:recipeIds)", nativeQuery = true)
+    List<RecipeIngredientLink> findIngredientLinksByRecipeIds(@Param("recipeIds") Collection<Long> recipeIds);
+
+    // Keyset ("seek") pagination queries.
+    //
+    // The Pageable passed in is always PageRequest.of(0, n): it is only used to put a
+    // LIMIT on the query. Because the return type is a List (not a Page), Spring does
+    // NOT run a COUNT(*) query either, so every page costs the same single seek.
+    //
+    // The "next page" queries compare the (createdAt, id) tuple against the last row of
+    // the previous page. Hibernate renders this as a row-value comparison, which Postgres
+    // can answer with an index on (created_at, id).
+
+    @Query(ROW + "order by r.createdAt desc, r.id desc")
+    List<RecipeRow> findFirstPageByCreatedAt(Pageable limit);
+
+    @Query(ROW + """
+            where (r.createdAt, r.id) < (:createdAt, :id)
+            order by r.createdAt desc, r.id desc
+            """)
+    List<RecipeRow> findPageByCreatedAtBefore(@Param("createdAt") LocalDateTime createdAt,
+                                              @Param("id") Long id,
+                                              Pageable limit);
+
+    @Query(ROW + "where r.owner.id = :ownerId order by r.createdAt desc, r.id desc")
+    List<RecipeRow> findFirstPageByOwnerAndCreatedAt(@Param("ownerId") Long ownerId, Pageable limit);
+
+    @Query(ROW + """
+            where r.owner.id = :ownerId and (r.createdAt, r.id) < (:createdAt, :id)
+            order by r.createdAt desc, r.id desc
+            """)
+    List<RecipeRow> findPageByOwnerAndCreatedAtBefore(@Param("ownerId") Long ownerId,
+                                                      @Param("createdAt") LocalDateTime createdAt,
+                                                      @Param("id") Long id,
+                                                      Pageable limit);
+
+    @Query(ROW + "order by r.id desc")
+    List<RecipeRow> findFirstPageById(Pageable limit);
+
+    @Query(ROW + "where r.id < :id order by r.id desc")
+    List<RecipeRow> findPageByIdBefore(@Param("id") Long id, Pageable limit);
+
+    @Query(ROW + "where r.owner.id = :ownerId order by r.id desc")
+    List<RecipeRow> findFirstPageByOwnerAndId(@Param("ownerId") Long ownerId, Pageable limit);
+
+    @Query(ROW + "where r.owner.id = :ownerId and r.id < :id order by r.id desc")
+    List<RecipeRow> findPageByOwnerAndIdBefore(@Param("ownerId") Long ownerId,
+                                               @Param("id") Long id,
+                                               Pageable limit);
+}
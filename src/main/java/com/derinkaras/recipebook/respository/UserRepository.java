@@ -2,10 +2,19 @@ package com.derinkaras.recipebook.respository;
 
 import com.derinkaras.recipebook.model.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Optional;
 
 public interface UserRepository extends JpaRepository<User, Long> {
 
     boolean existsByEmail(String email);
 
     boolean existsByUsername(String username);
+
+    // The user and its profile in one select. User.profile is the inverse side of a one-to-one,
+    // which Hibernate cannot proxy, so a plain findById always costs a second select for it.
+    @Query("select u from User u left join fetch u.profile where u.id = :id")
+    Optional<User> findWithProfileById(@Param("id") Long id);
 }
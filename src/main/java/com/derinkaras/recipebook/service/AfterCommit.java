@@ -0,0 +1,28 @@
+package com.derinkaras.recipebook.service;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+// Runs a piece of code only once the surrounding transaction has committed.
+//
+// Used to keep the in-memory indexes in step with the database: if we updated them directly
+// inside a @Transactional method and the transaction then rolled back, they would describe
+// rows that do not exist. Outside a transaction the action simply runs right away.
+final class AfterCommit {
+
+    private AfterCommit() {
+    }
+
+    static void run(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+}
@@ -1,40 +1,223 @@
 package com.derinkaras.recipebook.service;
 
+import com.derinkaras.recipebook.cache.HibernateCacheEvictor;
+import com.derinkaras.recipebook.cache.RecipeCache;
 import com.derinkaras.recipebook.dto.ingredient.CreateIngredientRequest;
 import com.derinkaras.recipebook.dto.ingredient.IngredientDto;
+import com.derinkaras.recipebook.exception.BadRequestException;
 import com.derinkaras.recipebook.exception.DuplicateResourceException;
 import com.derinkaras.recipebook.exception.ResourceNotFoundException;
+import com.derinkaras.recipebook.index.IngredientAutocompleteIndex;
+import com.derinkaras.recipebook.index.IngredientDictionary;
+import com.derinkaras.recipebook.index.IngredientRecipeIndex;
 import com.derinkaras.recipebook.mapper.IngredientMapper;
 import com.derinkaras.recipebook.model.Ingredient;
+import com.derinkaras.recipebook.model.IngredientNames;
 import com.derinkaras.recipebook.respository.IngredientRepository;
+import com.derinkaras.recipebook.respository.RecipeRepository;
+import io.micrometer.core.annotation.Timed;
 import jakarta.persistence.EntityExistsException;
 import jakarta.persistence.EntityNotFoundException;
+import jakarta.transaction.Transactional;
 import org.apache.catalina.valves.rewrite.ResolverImpl;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Service;
 
+import java.sql.PreparedStatement;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 @Service
+@Timed("recipebook.service")
 public class IngredientService {
+    static final int DEFAULT_AUTOCOMPLETE_SIZE = 10;
+    static final int MAX_AUTOCOMPLETE_SIZE = 50;
+
+    // Insert-or-get for a whole list of names in ONE statement:
+    //   - input:    the names as a single text[] parameter, unnested into rows
+    //   - inserted: inserts each name with an id from the sequence (one nextval() per name, so
+    //               ids are 50 apart, see V5__pooled_id_sequences.sql); names that already exist
+    //               hit the unique constraint and are skipped (ON CONFLICT DO NOTHING)
+    //   - the final SELECT returns the inserted rows plus the rows that already existed
+    // Both halves see the same snapshot, so a name inserted by a concurrent transaction that
+    // committed after this statement started is in neither; resolveNames re-reads those.
+    private static final String UPSERT_NAMES = """
+            WITH input(name) AS (SELECT DISTINCT unnest(?::text[])),
+                 inserted AS (
+                     INSERT INTO ingredient (id, name)
+                     SELECT nextval('ingredient_id_seq'), name FROM input
+                     ON CONFLICT (name) DO NOTHING
+                     RETURNING id, name
+                 )
+            SELECT id, name, true AS inserted FROM inserted
+            UNION ALL
+            SELECT i.id, i.name, false AS inserted FROM ingredient i JOIN input ON input.name = i.name
+            """;
+
+    private static final String SELECT_BY_NAMES = "SELECT id, name FROM ingredient WHERE name = ANY(?::text[])";
+
     private final IngredientRepository ingredientRepository;
-    public IngredientService(IngredientRepository ingredientRepository) {
+    private final IngredientDictionary ingredientDictionary;
+    private final IngredientRecipeIndex ingredientRecipeIndex;
+    private final IngredientAutocompleteIndex ingredientAutocompleteIndex;
+    private final RecipeCache recipeCache;
+    private final RecipeRepository recipeRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final HibernateCacheEvictor hibernateCacheEvictor;
+    public IngredientService(IngredientRepository ingredientRepository,
+                             IngredientDictionary ingredientDictionary,
+                             IngredientRecipeIndex ingredientRecipeIndex,
+                             IngredientAutocompleteIndex ingredientAutocompleteIndex,
+                             RecipeCache recipeCache,
+                             RecipeRepository recipeRepository,
+                             JdbcTemplate jdbcTemplate,
+                             HibernateCacheEvictor hibernateCacheEvictor) {
         this.ingredientRepository = ingredientRepository;
+        this.ingredientDictionary = ingredientDictionary;
+        this.ingredientRecipeIndex = ingredientRecipeIndex;
+        this.ingredientAutocompleteIndex = ingredientAutocompleteIndex;
+        this.recipeCache = recipeCache;
+        this.recipeRepository = recipeRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.hibernateCacheEvictor = hibernateCacheEvictor;
     }
 
+    // The duplicate check is a memory lookup in the dictionary instead of findByName.
+    // Two concurrent creates of the same name can both pass it, so the unique constraint on
+    // ingredient.name stays the real guard: saveAndFlush makes that INSERT run here, inside
+    // the try, instead of at commit time.
+    //
+    // Names are stored normalized (see IngredientNames), so "Tomato " and "tomato" collide.
     public IngredientDto create (CreateIngredientRequest req) {
-        if (ingredientRepository.findByName(req.getName()) != null) {
+        String name = IngredientNames.normalize(req.getName());
+        if (name == null) {
+            throw new BadRequestException("name must not be blank");
+        }
+        if (ingredientDictionary.idOf(name) != null) {
             throw new DuplicateResourceException("Ingredient already exists");
         }
         Ingredient ingredient = new Ingredient();
-        ingredient.setName(req.getName());
-        Ingredient saved = ingredientRepository.save(ingredient);
+        ingredient.setName(name);
+        Ingredient saved;
+        try {
+            saved = ingredientRepository.saveAndFlush(ingredient);
+        } catch (DataIntegrityViolationException ex) {
+            throw new DuplicateResourceException("Ingredient already exists");
+        }
+        AfterCommit.run(() -> {
+            ingredientDictionary.put(saved.getId(), saved.getName());
+            ingredientAutocompleteIndex.add(saved.getId(), saved.getName());
+        });
         return IngredientMapper.toDto(saved);
     }
 
+    // Resolves ingredient names to ids, creating the missing ones, and returns
+    // normalized name → id in the order the names were given.
+    //
+    // Names already in the IngredientDictionary cost nothing; all the others go to the database
+    // together in the UPSERT_NAMES statement. Inside a transaction (recipe create/update) the
+    // dictionary and autocomplete index only learn about the new ingredients once it commits;
+    // called on its own (POST /bulk) the upsert commits by itself and they learn right away.
+    public Map<String, Long> resolveNames(Collection<String> names) {
+        Set<String> normalized = new LinkedHashSet<>();
+        for (String name : names) {
+            String canonical = IngredientNames.normalize(name);
+            if (canonical != null) {
+                normalized.add(canonical);
+            }
+        }
+        Map<String, Long> idsByName = new HashMap<>();
+        List<String> unknown = new ArrayList<>();
+        for (String name : normalized) {
+            Long id = ingredientDictionary.idOf(name);
+            if (id != null) {
+                idsByName.put(name, id);
+            } else {
+                unknown.add(name);
+            }
+        }
+
+        if (!unknown.isEmpty()) {
+            Map<Long, String> inserted = new HashMap<>();
+            jdbcTemplate.query(con -> {
+                PreparedStatement ps = con.prepareStatement(UPSERT_NAMES);
+                ps.setArray(1, con.createArrayOf("text", unknown.toArray()));
+                return ps;
+            }, rs -> {
+                idsByName.put(rs.getString("name"), rs.getLong("id"));
+                if (rs.getBoolean("inserted")) {
+                    inserted.put(rs.getLong("id"), rs.getString("name"));
+                }
+            });
+            // Lost a race with a concurrent insert (see UPSERT_NAMES): the row exists now
+            List<String> raced = unknown.stream().filter(name -> !idsByName.containsKey(name)).toList();
+            if (!raced.isEmpty()) {
+                jdbcTemplate.query(con -> {
+                    PreparedStatement ps = con.prepareStatement(SELECT_BY_NAMES);
+                    ps.setArray(1, con.createArrayOf("text", raced.toArray()));
+                    return ps;
+                }, rs -> {
+                    idsByName.put(rs.getString("name"), rs.getLong("id"));
+                });
+            }
+            Map<Long, String> known = new HashMap<>();
+            for (String name : unknown) {
+                Long id = idsByName.get(name);
+                if (id != null) {
+                    known.put(id, name);
+                }
+            }
+            AfterCommit.run(() -> {
+                known.forEach(ingredientDictionary::put);
+                ingredientAutocompleteIndex.addAll(inserted);
+                if (!inserted.isEmpty()) {
+                    hibernateCacheEvictor.evictQueryResults();
+                }
+            });
+        }
+
+        Map<String, Long> result = new LinkedHashMap<>();
+        for (String name : normalized) {
+            Long id = idsByName.get(name);
+            if (id != null) {
+                result.put(name, id);
+            }
+        }
+        return result;
+    }
+
+    // Deleting an ingredient that recipes still use removes it from those recipes: the version
+    // bump, the link delete and the ingredient delete run in one transaction.
+    @Transactional
     public void delete (Long id) {
-        if (!ingredientRepository.existsById(id)) {
+        if (!ingredientDictionary.contains(id) && !ingredientRepository.existsById(id)) {
             throw new ResourceNotFoundException("Ingredient", id);
         }
+        // The recipes that listed this ingredient now render differently, so their ETags must change
+        recipeRepository.incrementVersionsUsingIngredient(id);
+        recipeRepository.deleteIngredientLinks(id);
         ingredientRepository.deleteById(id);
+        AfterCommit.run(() -> {
+            // Cached recipes listing this ingredient's name are stale now; find them before the
+            // bitmap forgets which recipes used it
+            List<Long> affected = ingredientRecipeIndex.recipesUsing(id);
+            recipeCache.invalidateAll(affected);
+            hibernateCacheEvictor.evictRecipeIngredients(affected);
+            ingredientDictionary.remove(id);
+            ingredientRecipeIndex.removeIngredient(id);
+            ingredientAutocompleteIndex.remove(id);
+        });
+    }
+
+    // ETag of getAll(): a fingerprint the dictionary keeps of its contents
+    public String getListVersion() {
+        return ingredientDictionary.fingerprint();
     }
 
     public List<IngredientDto> getAll() {
@@ -43,6 +226,23 @@ public class IngredientService {
         return ingredients;
     }
 
+    // Prefix autocomplete for the ingredient picker, answered entirely from memory: the
+    // autocomplete index picks the ids and the dictionary supplies their names.
+    public List<IngredientDto> autocomplete(String prefix, Integer limit) {
+        int k = (limit == null) ? DEFAULT_AUTOCOMPLETE_SIZE : Math.min(Math.max(limit, 1), MAX_AUTOCOMPLETE_SIZE);
+        List<IngredientDto> result = new ArrayList<>();
+        for (Long id : ingredientAutocompleteIndex.complete(prefix, k)) {
+            String name = ingredientDictionary.nameOf(id);
+            if (name != null) {
+                IngredientDto dto = new IngredientDto();
+                dto.setId(id);
+                dto.setName(name);
+                result.add(dto);
+            }
+        }
+        return result;
+    }
+
     public IngredientDto getById(Long id) {
         Ingredient ingredient = ingredientRepository.findById(id).orElseThrow(
                 ()-> new ResourceNotFoundException("Ingredient", id)
@@ -0,0 +1,121 @@
+package com.derinkaras.recipebook.service;
+
+import com.derinkaras.recipebook.exception.ServiceUnavailableException;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+// Runs PasswordEncoder.encode on a small dedicated thread pool.
+//
+// bcrypt is deliberately slow (tens of ms of pure CPU per hash at strength 10). Done inline,
+// a burst of registrations occupies every request thread and every core, and cheap recipe
+// reads queue behind it. Here:
+//   - at most `threads` hashes run at once, so the rest of the app keeps some CPU
+//   - at most `queueCapacity` more may wait; beyond that the request is rejected immediately
+//     with ServiceUnavailableException (503 + Retry-After) instead of piling up
+//   - the caller only waits for the result, it does not burn CPU (and with the "virtual"
+//     profile the waiting request thread is a cheap virtual thread)
+//
+// stats() reports queue depth and queue-wait/hash latencies (GET /api/v1/user/hashing/stats).
+@Service
+public class PasswordHashingService {
+
+    private final PasswordEncoder passwordEncoder;
+    private final ThreadPoolExecutor executor;
+
+    private final LongAdder completed = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+    private final LongAdder queueWaitNanos = new LongAdder();
+    private final LongAdder hashNanos = new LongAdder();
+    private final AtomicLong maxHashNanos = new AtomicLong();
+
+    public PasswordHashingService(PasswordEncoder passwordEncoder,
+                                  @Value("${recipebook.security.hashing.threads:0}") int threads,
+                                  @Value("${recipebook.security.hashing.queue-capacity:64}") int queueCapacity) {
+        this.passwordEncoder = passwordEncoder;
+        // 0 = half the cores, at least one
+        int poolSize = threads > 0 ? threads : Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(poolSize, poolSize, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                task -> {
+                    Thread thread = new Thread(task, "password-hash-" + threadNumber.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    public String hash(String rawPassword) {
+        long submitted = System.nanoTime();
+        Future<String> result;
+        try {
+            result = executor.submit(() -> {
+                long started = System.nanoTime();
+                queueWaitNanos.add(started - submitted);
+                String hashed = passwordEncoder.encode(rawPassword);
+                long took = System.nanoTime() - started;
+                hashNanos.add(took);
+                maxHashNanos.accumulateAndGet(took, Math::max);
+                completed.increment();
+                return hashed;
+            });
+        } catch (RejectedExecutionException ex) {
+            rejected.increment();
+            throw new ServiceUnavailableException("Too many password operations in progress, please retry shortly");
+        }
+        try {
+            return result.get();
+        } catch (InterruptedException ex) {
+            result.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new ServiceUnavailableException("Interrupted while hashing the password");
+        } catch (ExecutionException ex) {
+            throw new IllegalStateException("Password hashing failed", ex.getCause());
+        }
+    }
+
+    public Stats stats() {
+        long done = completed.sum();
+        return new Stats(
+                executor.getMaximumPoolSize(),
+                executor.getActiveCount(),
+                executor.getQueue().size(),
+                executor.getQueue().remainingCapacity(),
+                done,
+                rejected.sum(),
+                done == 0 ? 0 : queueWaitNanos.sum() / done / 1_000_000.0,
+                done == 0 ? 0 : hashNanos.sum() / done / 1_000_000.0,
+                maxHashNanos.get() / 1_000_000.0
+        );
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdown();
+    }
+
+    public record Stats(
+            int threads,
+            int active,
+            int queueDepth,
+            int queueRemaining,
+            long completed,
+            long rejected,
+            double avgQueueWaitMillis,
+            double avgHashMillis,
+            double maxHashMillis
+    ) {
+    }
+}
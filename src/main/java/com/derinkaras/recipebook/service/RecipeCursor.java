@@ -0,0 +1,58 @@
+package com.derinkaras.recipebook.service;
+
+import com.derinkaras.recipebook.exception.BadRequestException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+// The position of the last recipe on a page, handed to the client as an opaque string.
+//
+// Keyset pagination never uses OFFSET. Instead the next page is "everything that sorts
+// after the last row I saw", e.g.
+//
+//   WHERE (created_at, id) < (:createdAt, :id) ORDER BY created_at DESC, id DESC LIMIT :n
+//
+// so the database can seek straight to the position instead of counting past N rows.
+// The id is always part of the key because createdAt is not unique.
+//
+// The cursor also remembers which sort it was created for, so a cursor from a
+// sort=createdAt listing cannot be replayed against sort=id.
+record RecipeCursor(RecipeSort sort, LocalDateTime createdAt, Long id) {
+
+    private static final String SEPARATOR = "|";
+
+    static RecipeCursor after(RecipeSort sort, LocalDateTime createdAt, Long id) {
+        return new RecipeCursor(sort, createdAt, id);
+    }
+
+    String encode() {
+        String raw = sort.name() + SEPARATOR + id + SEPARATOR + (createdAt != null ? createdAt : "");
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    static RecipeCursor decode(String token, RecipeSort expectedSort) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            String[] parts = raw.split("\\|", -1);
+            if (parts.length != 3) {
+                throw new BadRequestException("Invalid cursor");
+            }
+            RecipeSort sort = RecipeSort.valueOf(parts[0]);
+            if (sort != expectedSort) {
+                throw new BadRequestException("Cursor does not match sort=" + expectedSort.param());
+            }
+            Long id = Long.valueOf(parts[1]);
+            LocalDateTime createdAt = parts[2].isEmpty() ? null : LocalDateTime.parse(parts[2]);
+            if (sort == RecipeSort.CREATED_AT && createdAt == null) {
+                throw new BadRequestException("Invalid cursor");
+            }
+            return new RecipeCursor(sort, createdAt, id);
+        } catch (IllegalArgumentException | DateTimeParseException ex) {
+            // Base64, enum and number parsing all throw IllegalArgumentException subclasses
+            throw new BadRequestException("Invalid cursor");
+        }
+    }
+}
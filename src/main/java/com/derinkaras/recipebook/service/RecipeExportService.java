@@ -0,0 +1,134 @@
+package com.derinkaras.recipebook.service;
+
+import com.derinkaras.recipebook.dto.recipe.RecipeDto;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Comparator;
+
+// Streams every recipe out as NDJSON (one JSON object per line) in constant memory.
+//
+// Why not just reuse RecipeService.getAll()?
+//   getAll() builds a List<RecipeDto> of the WHOLE table before Jackson writes the first byte,
+//   so memory grows with the table and the client waits for everything to be loaded.
+//
+// Here we go one level lower than JPA:
+//   - plain JDBC through JdbcTemplate, no entities and no persistence context
+//   - a forward-only, read-only ResultSet with a fetch size, so the Postgres driver pulls
+//     rows from a server-side cursor in chunks of fetchSize instead of buffering the whole
+//     result in the JVM (the driver only does this inside a transaction, hence the template)
+//   - each recipe is written to the response as soon as its last ingredient row has been read
+//
+// At any point we hold one recipe and one fetch-size chunk of rows in memory.
+@Service
+public class RecipeExportService {
+
+    // LEFT JOIN so recipes without ingredients are still exported.
+    // Ordered by recipe id only: all rows of a recipe arrive next to each other, and Postgres
+    // can produce that order from the primary keys without sorting the whole join first.
+    private static final String EXPORT_SQL = """
+            SELECT r.id, r.title, r.description, r.difficulty, r.created_at, r.version, r.owner_id, i.name
+            FROM recipe r
+            LEFT JOIN recipe_ingredient ri ON ri.recipe_id = r.id
+            LEFT JOIN ingredient i ON i.id = ri.ingredient_id
+            ORDER BY r.id
+            """;
+
+    private static final byte[] NEWLINE = {'\n'};
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate readOnlyTransaction;
+    private final ObjectMapper objectMapper;
+    private final int fetchSize;
+
+    public RecipeExportService(JdbcTemplate jdbcTemplate,
+                               PlatformTransactionManager transactionManager,
+                               ObjectMapper objectMapper,
+                               @Value("${recipebook.export.fetch-size:1000}") int fetchSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.objectMapper = objectMapper;
+        this.fetchSize = fetchSize;
+    }
+
+    public void exportAll(OutputStream out) {
+        readOnlyTransaction.executeWithoutResult(status -> {
+            NdjsonWriter writer = new NdjsonWriter(out);
+            jdbcTemplate.query(con -> {
+                PreparedStatement ps = con.prepareStatement(
+                        EXPORT_SQL, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+                ps.setFetchSize(fetchSize);
+                return ps;
+            }, writer);
+            writer.finish();
+        });
+    }
+
+    // Collects consecutive rows of the same recipe into one RecipeDto and writes it out
+    // when the next recipe starts.
+    private class NdjsonWriter implements RowCallbackHandler {
+        private final OutputStream out;
+        private RecipeDto current;
+
+        NdjsonWriter(OutputStream out) {
+            this.out = out;
+        }
+
+        @Override
+        public void processRow(ResultSet rs) throws SQLException {
+            long id = rs.getLong("id");
+            if (current == null || current.getId() != id) {
+                write(current);
+                current = new RecipeDto();
+                current.setId(id);
+                current.setTitle(rs.getString("title"));
+                current.setDescription(rs.getString("description"));
+                current.setDifficulty(rs.getString("difficulty"));
+                Timestamp createdAt = rs.getTimestamp("created_at");
+                current.setCreatedAt(createdAt != null ? createdAt.toLocalDateTime() : null);
+                current.setVersion(rs.getLong("version"));
+                long ownerId = rs.getLong("owner_id");
+                current.setOwnerId(rs.wasNull() ? null : ownerId);
+                current.setIngredientNames(new ArrayList<>());
+            }
+            String ingredientName = rs.getString("name");
+            if (ingredientName != null) {
+                current.getIngredientNames().add(ingredientName);
+            }
+        }
+
+        void finish() {
+            write(current);
+            current = null;
+        }
+
+        private void write(RecipeDto recipe) {
+            if (recipe == null) {
+                return;
+            }
+            // Same ordering as the JSON API (RecipeService.toDtos sorts the names in memory)
+            recipe.getIngredientNames().sort(Comparator.naturalOrder());
+            try {
+                out.write(objectMapper.writeValueAsBytes(recipe));
+                out.write(NEWLINE);
+            } catch (IOException ex) {
+                // Usually the client went away; abort the query instead of reading the rest
+                throw new UncheckedIOException(ex);
+            }
+        }
+    }
+}
@@ -0,0 +1,327 @@
+package com.derinkaras.recipebook.service;
+
+import com.derinkaras.recipebook.dto.recipe.CreateRecipeRequest;
+import com.derinkaras.recipebook.dto.recipe.RecipeImportErrorDto;
+import com.derinkaras.recipebook.dto.recipe.RecipeImportResultDto;
+import com.derinkaras.recipebook.index.IngredientDictionary;
+import com.derinkaras.recipebook.index.RecipeIndexUpdater;
+import com.derinkaras.recipebook.model.IngredientNames;
+import com.derinkaras.recipebook.model.Recipe;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+// Bulk recipe import from NDJSON: one CreateRecipeRequest JSON object per line.
+//
+// RecipeService.create() is fine for one recipe but far too chatty for hundreds of thousands:
+// per recipe it does a SELECT for the owner, a SELECT for the ingredients and an INSERT
+// (and with IDENTITY ids Hibernate cannot even batch those inserts).
+//
+// This service instead:
+//   1. reads the body line by line (never the whole file in memory)
+//   2. collects batchSize valid lines into a chunk
+//   3. per chunk, in ONE transaction:
+//        - checks all owner ids with a single IN query
+//        - checks ingredient ids against the in-memory IngredientDictionary (ids it has not
+//          seen yet are looked up with one query for the whole chunk)
+//        - reserves all recipe ids with a single nextval() query (one value per 50 ids)
+//        - inserts the recipes and recipe_ingredient rows as two JDBC batches
+//        - after commit, hands the new recipes to the in-memory indexes
+//
+// Chunks commit independently, so a failure late in a huge file does not roll back the rows
+// already imported, and a bad line only rejects that line. Column lengths are part of the bean
+// validation in parse(); anything else the database refuses (a concurrently deleted owner or
+// ingredient, say) fails the whole batch, so the chunk is split in half and retried until the
+// offending lines are on their own.
+@Service
+public class RecipeImportService {
+
+    static final int MAX_REPORTED_ERRORS = 500;
+
+    // Same sequence and block size Hibernate's pooled optimizer uses for Recipe ids (see
+    // Recipe.id): each value V reserves V-49..V, so bulk-imported ids never collide with ids
+    // handed out by RecipeService.create() and the import does not burn 50 ids per recipe.
+    private static final String NEXT_RECIPE_ID_BLOCKS =
+            "SELECT nextval('recipe_id_seq') FROM generate_series(1, ?)";
+
+    private static final String INSERT_RECIPE =
+            "INSERT INTO recipe (id, title, description, difficulty, created_at, version, owner_id) VALUES (?, ?, ?, ?, ?, 0, ?)";
+    private static final int[] INSERT_RECIPE_TYPES =
+            {Types.BIGINT, Types.VARCHAR, Types.VARCHAR, Types.VARCHAR, Types.TIMESTAMP, Types.BIGINT};
+
+    private static final String INSERT_RECIPE_INGREDIENT =
+            "INSERT INTO recipe_ingredient (recipe_id, ingredient_id) VALUES (?, ?)";
+    private static final int[] INSERT_RECIPE_INGREDIENT_TYPES = {Types.BIGINT, Types.BIGINT};
+
+    private final JdbcTemplate jdbcTemplate;
+    private final NamedParameterJdbcTemplate namedJdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectMapper objectMapper;
+    private final Validator validator;
+    private final IngredientDictionary ingredientDictionary;
+    private final RecipeIndexUpdater recipeIndexUpdater;
+    private final IngredientService ingredientService;
+    private final int batchSize;
+
+    public RecipeImportService(JdbcTemplate jdbcTemplate,
+                               NamedParameterJdbcTemplate namedJdbcTemplate,
+                               PlatformTransactionManager transactionManager,
+                               ObjectMapper objectMapper,
+                               Validator validator,
+                               IngredientDictionary ingredientDictionary,
+                               RecipeIndexUpdater recipeIndexUpdater,
+                               IngredientService ingredientService,
+                               @Value("${recipebook.import.batch-size:1000}") int batchSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.namedJdbcTemplate = namedJdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.objectMapper = objectMapper;
+        this.validator = validator;
+        this.ingredientDictionary = ingredientDictionary;
+        this.recipeIndexUpdater = recipeIndexUpdater;
+        this.ingredientService = ingredientService;
+        this.batchSize = batchSize;
+    }
+
+    public RecipeImportResultDto importNdjson(InputStream body) throws IOException {
+        long started = System.nanoTime();
+        ImportProgress progress = new ImportProgress();
+        List<ImportRow> chunk = new ArrayList<>(batchSize);
+
+        BufferedReader reader = new BufferedReader(new InputStreamReader(body, StandardCharsets.UTF_8));
+        String line;
+        long lineNumber = 0;
+        while ((line = reader.readLine()) != null) {
+            lineNumber++;
+            if (line.isBlank()) {
+                continue;
+            }
+            ImportRow row = parse(lineNumber, line, progress);
+            if (row != null) {
+                chunk.add(row);
+            }
+            if (chunk.size() == batchSize) {
+                writeChunk(chunk, progress);
+                chunk.clear();
+            }
+        }
+        if (!chunk.isEmpty()) {
+            writeChunk(chunk, progress);
+        }
+
+        long elapsedNanos = System.nanoTime() - started;
+        RecipeImportResultDto result = new RecipeImportResultDto();
+        result.setImported(progress.imported);
+        result.setFailed(progress.failed);
+        result.setElapsedMillis(elapsedNanos / 1_000_000);
+        result.setRowsPerSecond(elapsedNanos == 0 ? 0 : progress.imported * 1_000_000_000.0 / elapsedNanos);
+        result.setErrors(progress.errors);
+        return result;
+    }
+
+    // Turns one line into a request, applying the same bean validation the POST endpoint uses
+    // (@NotNull title, difficulty, ownerId; @Size column lengths). Returns null and records an
+    // error for bad lines.
+    private ImportRow parse(long lineNumber, String line, ImportProgress progress) {
+        CreateRecipeRequest req;
+        try {
+            req = objectMapper.readValue(line, CreateRecipeRequest.class);
+        } catch (JsonProcessingException ex) {
+            progress.reject(lineNumber, "Malformed JSON: " + ex.getOriginalMessage());
+            return null;
+        }
+        Set<ConstraintViolation<CreateRecipeRequest>> violations = validator.validate(req);
+        if (!violations.isEmpty()) {
+            progress.reject(lineNumber, violations.iterator().next().getMessage());
+            return null;
+        }
+        Set<Long> ingredientIds = new LinkedHashSet<>();
+        if (req.getIngredientIds() != null) {
+            for (Long ingredientId : req.getIngredientIds()) {
+                if (ingredientId != null) {
+                    ingredientIds.add(ingredientId);
+                }
+            }
+        }
+        return new ImportRow(lineNumber, req, ingredientIds);
+    }
+
+    private void writeChunk(List<ImportRow> chunk, ImportProgress progress) {
+        List<RecipeImportErrorDto> rejected = new ArrayList<>();
+        try {
+            int written = transactionTemplate.execute(status -> {
+                Set<Long> ownerIds = new HashSet<>();
+                for (ImportRow row : chunk) {
+                    ownerIds.add(row.request().getOwnerId());
+                }
+                Set<Long> knownOwners = existingIds("SELECT id FROM users WHERE id IN (:ids)", ownerIds);
+                Set<Long> ingredientIds = new HashSet<>();
+                for (ImportRow row : chunk) {
+                    ingredientIds.addAll(row.ingredientIds());
+                }
+                Set<Long> knownIngredients = ingredientDictionary.existing(ingredientIds);
+
+                List<ImportRow> valid = new ArrayList<>(chunk.size());
+                for (ImportRow row : chunk) {
+                    String error = check(row, knownOwners, knownIngredients);
+                    if (error != null) {
+                        rejected.add(new RecipeImportErrorDto(row.line(), error));
+                    } else {
+                        valid.add(row);
+                    }
+                }
+                if (valid.isEmpty()) {
+                    return 0;
+                }
+                List<Set<Long>> linkedIds = resolveIngredientNames(valid);
+
+                List<Long> recipeIds = reserveRecipeIds(valid.size());
+                Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+                List<Object[]> recipes = new ArrayList<>(valid.size());
+                List<Object[]> links = new ArrayList<>();
+                for (int i = 0; i < valid.size(); i++) {
+                    CreateRecipeRequest req = valid.get(i).request();
+                    Long recipeId = recipeIds.get(i);
+                    recipes.add(new Object[]{recipeId, req.getTitle(), req.getDescription(),
+                            req.getDifficulty(), now, req.getOwnerId()});
+                    for (Long ingredientId : linkedIds.get(i)) {
+                        links.add(new Object[]{recipeId, ingredientId});
+                    }
+                }
+                jdbcTemplate.batchUpdate(INSERT_RECIPE, recipes, INSERT_RECIPE_TYPES);
+                if (!links.isEmpty()) {
+                    jdbcTemplate.batchUpdate(INSERT_RECIPE_INGREDIENT, links, INSERT_RECIPE_INGREDIENT_TYPES);
+                }
+                AfterCommit.run(() -> {
+                    for (int i = 0; i < valid.size(); i++) {
+                        ImportRow row = valid.get(i);
+                        recipeIndexUpdater.saved(recipeIds.get(i), row.request().getTitle(),
+                                row.request().getDescription(), linkedIds.get(i));
+                    }
+                });
+                return valid.size();
+            });
+            progress.imported += written;
+            for (RecipeImportErrorDto error : rejected) {
+                progress.reject(error.getLine(), error.getMessage());
+            }
+        } catch (DataAccessException ex) {
+            // The whole chunk rolled back. Retry each half so only the lines the database
+            // actually refuses are reported; a single line that still fails is rejected.
+            if (chunk.size() > 1) {
+                int half = chunk.size() / 2;
+                writeChunk(chunk.subList(0, half), progress);
+                writeChunk(chunk.subList(half, chunk.size()), progress);
+            } else {
+                progress.reject(chunk.get(0).line(), "Insert failed: " + ex.getMostSpecificCause().getMessage());
+            }
+        } catch (RuntimeException ex) {
+            // Not caused by the data (commit failure, lost connection, bug): retrying smaller
+            // chunks would not help, so the chunk is rejected and the import carries on
+            String message = "Batch failed: " + ex.getMessage();
+            for (ImportRow row : chunk) {
+                progress.reject(row.line(), message);
+            }
+        }
+    }
+
+    // ingredientNames of every line in the chunk are resolved together, so a chunk costs one
+    // upsert statement no matter how many names it mentions (see IngredientService.resolveNames).
+    // Returns each row's ingredient ids (its ingredientIds plus its resolved names) as a new set:
+    // the names are resolved again if the chunk is retried, as the upsert rolled back with it.
+    private List<Set<Long>> resolveIngredientNames(List<ImportRow> rows) {
+        Set<String> names = new LinkedHashSet<>();
+        for (ImportRow row : rows) {
+            if (row.request().getIngredientNames() != null) {
+                names.addAll(row.request().getIngredientNames());
+            }
+        }
+        Map<String, Long> idsByName = names.isEmpty() ? Map.of() : ingredientService.resolveNames(names);
+        List<Set<Long>> result = new ArrayList<>(rows.size());
+        for (ImportRow row : rows) {
+            Set<Long> ids = new LinkedHashSet<>(row.ingredientIds());
+            if (row.request().getIngredientNames() != null) {
+                for (String name : row.request().getIngredientNames()) {
+                    Long id = idsByName.get(IngredientNames.normalize(name));
+                    if (id != null) {
+                        ids.add(id);
+                    }
+                }
+            }
+            result.add(ids);
+        }
+        return result;
+    }
+
+    // Both sets were looked up once for the whole chunk
+    private String check(ImportRow row, Set<Long> knownOwners, Set<Long> knownIngredients) {
+        Long ownerId = row.request().getOwnerId();
+        if (!knownOwners.contains(ownerId)) {
+            return "User with id=" + ownerId + " not found";
+        }
+        for (Long ingredientId : row.ingredientIds()) {
+            if (!knownIngredients.contains(ingredientId)) {
+                return "Ingredient with id=" + ingredientId + " not found";
+            }
+        }
+        return null;
+    }
+
+    // One nextval() per block of Recipe.ID_ALLOCATION_SIZE ids; the unused tail of the last block is skipped
+    private List<Long> reserveRecipeIds(int count) {
+        int blocks = (count + Recipe.ID_ALLOCATION_SIZE - 1) / Recipe.ID_ALLOCATION_SIZE;
+        List<Long> ids = new ArrayList<>(count);
+        for (Long high : jdbcTemplate.queryForList(NEXT_RECIPE_ID_BLOCKS, Long.class, blocks)) {
+            for (long id = high - Recipe.ID_ALLOCATION_SIZE + 1; id <= high && ids.size() < count; id++) {
+                ids.add(id);
+            }
+        }
+        return ids;
+    }
+
+    private Set<Long> existingIds(String sql, Set<Long> ids) {
+        if (ids.isEmpty()) {
+            return Set.of();
+        }
+        return new HashSet<>(namedJdbcTemplate.queryForList(sql, Map.of("ids", ids), Long.class));
+    }
+
+    private record ImportRow(long line, CreateRecipeRequest request, Set<Long> ingredientIds) {
+    }
+
+    private static class ImportProgress {
+        long imported;
+        long failed;
+        final List<RecipeImportErrorDto> errors = new ArrayList<>();
+
+        void reject(long line, String message) {
+            failed++;
+            if (errors.size() < MAX_REPORTED_ERRORS) {
+                errors.add(new RecipeImportErrorDto(line, message));
+            }
+        }
+    }
+}
@@ -1,8 +1,20 @@
 package com.derinkaras.recipebook.service;
+import com.derinkaras.recipebook.cache.CacheStats;
+import com.derinkaras.recipebook.cache.RecipeCache;
 import com.derinkaras.recipebook.dto.recipe.CreateRecipeRequest;
+import com.derinkaras.recipebook.dto.recipe.PantryMatchDto;
+import com.derinkaras.recipebook.dto.recipe.PatchRecipeRequest;
 import com.derinkaras.recipebook.dto.recipe.RecipeDto;
+import com.derinkaras.recipebook.dto.recipe.RecipeIngredientLink;
+import com.derinkaras.recipebook.dto.recipe.RecipePageDto;
+import com.derinkaras.recipebook.dto.recipe.RecipeRow;
 import com.derinkaras.recipebook.dto.recipe.UpdateRecipeRequest;
+import com.derinkaras.recipebook.exception.PreconditionFailedException;
 import com.derinkaras.recipebook.exception.ResourceNotFoundException;
+import com.derinkaras.recipebook.index.IngredientDictionary;
+import com.derinkaras.recipebook.index.IngredientRecipeIndex;
+import com.derinkaras.recipebook.index.RecipeIndexUpdater;
+import com.derinkaras.recipebook.index.RecipeSearchIndex;
 import com.derinkaras.recipebook.mapper.RecipeMapper;
 import com.derinkaras.recipebook.model.Ingredient;
 import com.derinkaras.recipebook.model.Recipe;
@@ -10,43 +22,172 @@ import com.derinkaras.recipebook.model.User;
 import com.derinkaras.recipebook.respository.IngredientRepository;
 import com.derinkaras.recipebook.respository.RecipeRepository;
 import com.derinkaras.recipebook.respository.UserRepository;
+import io.micrometer.core.annotation.Timed;
 import jakarta.transaction.Transactional;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Set;
 
 @Service
+@Timed("recipebook.service")
 @Transactional
 public class RecipeService {
+    static final int DEFAULT_PAGE_SIZE = 20;
+    static final int MAX_PAGE_SIZE = 100;
+    static final int DEFAULT_MAX_MISSING = 2;
+    static final int MAX_MISSING = 5;
+
     private final RecipeRepository recipeRepository;
     private final UserRepository userRepository;
     private final IngredientRepository ingredientRepository;
+    private final IngredientDictionary ingredientDictionary;
+    private final RecipeSearchIndex recipeSearchIndex;
+    private final IngredientRecipeIndex ingredientRecipeIndex;
+    private final RecipeIndexUpdater recipeIndexUpdater;
+    private final RecipeCache recipeCache;
+    private final IngredientService ingredientService;
+    private final TransactionTemplate readOnlyTransaction;
 
     public RecipeService(RecipeRepository recipeRepository,
-                         UserRepository userRepository, IngredientRepository ingredientRepository) {
+                         UserRepository userRepository, IngredientRepository ingredientRepository,
+                         IngredientDictionary ingredientDictionary,
+                         RecipeSearchIndex recipeSearchIndex,
+                         IngredientRecipeIndex ingredientRecipeIndex,
+                         RecipeIndexUpdater recipeIndexUpdater,
+                         RecipeCache recipeCache,
+                         IngredientService ingredientService,
+                         PlatformTransactionManager transactionManager) {
         this.recipeRepository = recipeRepository;
         this.userRepository = userRepository;
         this.ingredientRepository = ingredientRepository;
+        this.ingredientDictionary = ingredientDictionary;
+        this.recipeSearchIndex = recipeSearchIndex;
+        this.ingredientRecipeIndex = ingredientRecipeIndex;
+        this.recipeIndexUpdater = recipeIndexUpdater;
+        this.recipeCache = recipeCache;
+        this.ingredientService = ingredientService;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
     }
 
     // Find by something which is not unique may return many results
+    //
+    // Reads go through the projection queries in RecipeRepository: one select for the recipe
+    // columns and one for the ingredient ids in the join table, straight into records. No Recipe
+    // entities are loaded, so there is nothing for Hibernate to track or dirty-check at commit,
+    // and the ingredient names come from IngredientDictionary instead of the ingredient table.
     public List<RecipeDto> getAll(Long ownerId) {
-        List<Recipe> recipes = (ownerId != null) ?
-                recipeRepository.findByOwnerId(ownerId) :
-                recipeRepository.findAll();
-        return recipes.stream()
-                .map(recipe -> RecipeMapper.toDto(recipe))
-                .toList();
+        if (ownerId != null) {
+            return toDtos(recipeRepository.findRowsByOwnerId(ownerId),
+                    recipeRepository.findIngredientLinksByOwnerId(ownerId));
+        }
+        return toDtos(recipeRepository.findAllRows(), recipeRepository.findAllIngredientLinks());
+    }
+
+    // Cursor-paginated version of getAll. Every page is a single index seek no matter how deep
+    // the client has paged, because we never use OFFSET (see RecipeCursor).
+    //
+    // We ask for one row more than the page size: if it comes back there is a next page and
+    // the cursor points at the last row we actually return.
+    public RecipePageDto getPage(Long ownerId, String sortParam, String cursorToken, Integer limit) {
+        RecipeSort sort = RecipeSort.fromParam(sortParam);
+        RecipeCursor cursor = (cursorToken != null && !cursorToken.isBlank()) ?
+                RecipeCursor.decode(cursorToken, sort) :
+                null;
+        int pageSize = (limit == null) ? DEFAULT_PAGE_SIZE : Math.min(Math.max(limit, 1), MAX_PAGE_SIZE);
+        Pageable fetch = PageRequest.of(0, pageSize + 1);
+
+        List<RecipeRow> rows = switch (sort) {
+            case CREATED_AT -> {
+                if (cursor == null) {
+                    yield (ownerId != null) ?
+                            recipeRepository.findFirstPageByOwnerAndCreatedAt(ownerId, fetch) :
+                            recipeRepository.findFirstPageByCreatedAt(fetch);
+                }
+                yield (ownerId != null) ?
+                        recipeRepository.findPageByOwnerAndCreatedAtBefore(ownerId, cursor.createdAt(), cursor.id(), fetch) :
+                        recipeRepository.findPageByCreatedAtBefore(cursor.createdAt(), cursor.id(), fetch);
+            }
+            case ID -> {
+                if (cursor == null) {
+                    yield (ownerId != null) ?
+                            recipeRepository.findFirstPageByOwnerAndId(ownerId, fetch) :
+                            recipeRepository.findFirstPageById(fetch);
+                }
+                yield (ownerId != null) ?
+                        recipeRepository.findPageByOwnerAndIdBefore(ownerId, cursor.id(), fetch) :
+                        recipeRepository.findPageByIdBefore(cursor.id(), fetch);
+            }
+        };
+
+        boolean hasMore = rows.size() > pageSize;
+        List<RecipeRow> page = hasMore ? rows.subList(0, pageSize) : rows;
+        String nextCursor = null;
+        if (hasMore) {
+            RecipeRow last = page.get(page.size() - 1);
+            nextCursor = RecipeCursor.after(sort, last.createdAt(), last.id()).encode();
+        }
+        return new RecipePageDto(toDtos(page), nextCursor);
+    }
+
+    // A user's newest recipes: the first page of the owner/createdAt keyset listing
+    // (one seek + one ingredient query)
+    public List<RecipeDto> getLatestByOwner(Long ownerId, int limit) {
+        return toDtos(recipeRepository.findFirstPageByOwnerAndCreatedAt(ownerId, PageRequest.of(0, limit)));
     }
 
+    public long countByOwner(Long ownerId) {
+        return recipeRepository.countByOwnerId(ownerId);
+    }
+
+    // Read-through cache: popular recipes are answered from RecipeCache; only a miss runs the
+    // projection queries. The cache is invalidated by every write path (see RecipeIndexUpdater).
+    //
+    // SUPPORTS instead of the class-level REQUIRED: beginning a transaction takes a pooled
+    // connection, which a cache hit does not need (and under the bulkhead may not get). Only
+    // the loader opens one, so both of its queries still read the same snapshot.
+    @Transactional(Transactional.TxType.SUPPORTS)
     public RecipeDto getById(Long recipeId) {
-        Recipe recipe = recipeRepository.findById(recipeId)
-                .orElseThrow(()-> new ResourceNotFoundException(
-                        "Recipe", recipeId
-                ));
-        return RecipeMapper.toDto(recipe);
+        return recipeCache.get(recipeId, () -> readOnlyTransaction.execute(status -> {
+            RecipeRow row = recipeRepository.findRowById(recipeId)
+                    .orElseThrow(()-> new ResourceNotFoundException(
+                            "Recipe", recipeId
+                    ));
+            return toDtos(List.of(row)).get(0);
+        }));
+    }
+
+    // Current version of the recipe, which PUT/PATCH compare with the client's If-Match.
+    // Answered from the cache when possible, otherwise by a query that selects only the
+    // version column. SUPPORTS for the same reason as getById: a cache hit touches no connection.
+    @Transactional(Transactional.TxType.SUPPORTS)
+    public Long getVersion(Long recipeId) {
+        RecipeDto cached = recipeCache.peek(recipeId);
+        if (cached != null) {
+            return cached.getVersion();
+        }
+        return recipeRepository.findVersionById(recipeId)
+                .orElseThrow(() -> new ResourceNotFoundException("Recipe", recipeId));
+    }
+
+    // Tag of the rows behind getAll(ownerId), used as the listing's ETag (see digestAll)
+    public String getListVersion(Long ownerId) {
+        return (ownerId != null) ? recipeRepository.digestByOwnerId(ownerId) : recipeRepository.digestAll();
+    }
+
+    public CacheStats getCacheStats() {
+        return recipeCache.stats();
     }
 
     public RecipeDto create(CreateRecipeRequest req) {
@@ -59,31 +200,139 @@ public class RecipeService {
         recipe.setDifficulty(req.getDifficulty());
         recipe.setOwner(owner);
 
-        // findAllById is specifically designed to take an arg of ids
-        // it then returns the repo type in a list which matches those ids
-        // The HashSet takes a lit as args and converts it to a set
+        // Unknown ingredient ids are skipped, same as findAllById used to do
         if (req.getIngredientIds() != null && !req.getIngredientIds().isEmpty()) {
-            Set<Ingredient> ingredients = new HashSet<>(ingredientRepository.findAllById(req.getIngredientIds()));
-            recipe.setIngredients(ingredients);
+            recipe.setIngredients(ingredientReferences(req.getIngredientIds()));
+        }
+        // Names are resolved (missing ones created) in one statement. Those ids exist in this
+        // transaction but only reach the dictionary after commit, so they are referenced
+        // directly and their names are taken from the resolved map for the response.
+        Map<Long, String> resolvedNames = new HashMap<>();
+        if (req.getIngredientNames() != null && !req.getIngredientNames().isEmpty()) {
+            ingredientService.resolveNames(req.getIngredientNames()).forEach((name, id) -> {
+                resolvedNames.put(id, name);
+                recipe.getIngredients().add(ingredientRepository.getReferenceById(id));
+            });
         }
         Recipe saved = recipeRepository.save(recipe);
-        return RecipeMapper.toDto(saved);
+        afterSave(saved);
+        return RecipeMapper.toDto(saved, id -> {
+            String name = ingredientDictionary.nameOf(id);
+            return (name != null) ? name : resolvedNames.get(id);
+        });
     }
 
     public RecipeDto update(Long recipeId, UpdateRecipeRequest req) {
-        Recipe recipe = recipeRepository.findById(recipeId)
-                .orElseThrow(()-> new ResourceNotFoundException("Recipe", recipeId));
+        return update(recipeId, req, null);
+    }
+
+    // Conditional update: expectedVersion is the version the client last saw (its If-Match ETag),
+    // or null for an unconditional update.
+    //
+    // The check here catches a client that is behind; saveAndFlush runs the UPDATE ... WHERE
+    // version = ? right away, so a concurrent writer that got in between our SELECT and UPDATE
+    // surfaces as an OptimisticLockingFailureException (409) from this method, and the returned
+    // DTO carries the incremented version.
+    public RecipeDto update(Long recipeId, UpdateRecipeRequest req, Long expectedVersion) {
+        Recipe recipe = loadForUpdate(recipeId, expectedVersion);
 
         if (req.getTitle() != null) recipe.setTitle(req.getTitle());
         if (req.getDescription() != null) recipe.setDescription(req.getDescription());
         if (req.getDifficulty() != null) recipe.setDifficulty(req.getDifficulty());
 
+        // Still "replace the list" semantics for PUT, but applied as a diff (see applyIngredientIds)
         if (req.getIngredientIds() != null && !req.getIngredientIds().isEmpty()) {
-            var ingredients = new HashSet<>(ingredientRepository.findAllById(req.getIngredientIds()));
-            recipe.setIngredients(ingredients);
+            applyIngredientIds(recipe, knownIngredientIds(req.getIngredientIds()));
+        }
+        return finishUpdate(recipe);
+    }
+
+    // PATCH: scalar fields as in update, ingredients as explicit additions/removals
+    public RecipeDto patch(Long recipeId, PatchRecipeRequest req, Long expectedVersion) {
+        Recipe recipe = loadForUpdate(recipeId, expectedVersion);
+
+        if (req.getTitle() != null) recipe.setTitle(req.getTitle());
+        if (req.getDescription() != null) recipe.setDescription(req.getDescription());
+        if (req.getDifficulty() != null) recipe.setDifficulty(req.getDifficulty());
+
+        Set<Long> target = currentIngredientIds(recipe);
+        if (req.getAddIngredientIds() != null) {
+            target.addAll(knownIngredientIds(req.getAddIngredientIds()));
+        }
+        if (req.getRemoveIngredientIds() != null) {
+            req.getRemoveIngredientIds().forEach(target::remove);
+        }
+        applyIngredientIds(recipe, target);
+        return finishUpdate(recipe);
+    }
+
+    // PUT /recipe/{id}/ingredients/{ingredientId}: idempotent, adding a present ingredient is a no-op
+    public RecipeDto addIngredient(Long recipeId, Long ingredientId) {
+        if (ingredientDictionary.existing(List.of(ingredientId)).isEmpty()) {
+            throw new ResourceNotFoundException("Ingredient", ingredientId);
         }
-        Recipe updated = recipeRepository.save(recipe);
-        return RecipeMapper.toDto(updated);
+        Recipe recipe = loadForUpdate(recipeId, null);
+        Set<Long> target = currentIngredientIds(recipe);
+        target.add(ingredientId);
+        applyIngredientIds(recipe, target);
+        return finishUpdate(recipe);
+    }
+
+    // DELETE /recipe/{id}/ingredients/{ingredientId}: removing an absent ingredient is a no-op
+    public RecipeDto removeIngredient(Long recipeId, Long ingredientId) {
+        Recipe recipe = loadForUpdate(recipeId, null);
+        Set<Long> target = currentIngredientIds(recipe);
+        target.remove(ingredientId);
+        applyIngredientIds(recipe, target);
+        return finishUpdate(recipe);
+    }
+
+    private Recipe loadForUpdate(Long recipeId, Long expectedVersion) {
+        Recipe recipe = recipeRepository.findById(recipeId)
+                .orElseThrow(()-> new ResourceNotFoundException("Recipe", recipeId));
+        if (expectedVersion != null && !expectedVersion.equals(recipe.getVersion())) {
+            throw new PreconditionFailedException("Recipe with id " + recipeId + " has been modified");
+        }
+        return recipe;
+    }
+
+    // If nothing changed, Hibernate's dirty check finds nothing to write: no UPDATE, no
+    // version bump, and the ETag stays the same.
+    private RecipeDto finishUpdate(Recipe recipe) {
+        Recipe updated = recipeRepository.saveAndFlush(recipe);
+        afterSave(updated);
+        return RecipeMapper.toDto(updated, ingredientDictionary::nameOf);
+    }
+
+    // Brings the recipe's ingredient set to exactly targetIds by editing the loaded collection
+    // in place. Hibernate's PersistentSet remembers what it was loaded with, so at flush it
+    // only DELETEs the recipe_ingredient rows that were removed and INSERTs the ones added.
+    // Replacing the collection with recipe.setIngredients(new HashSet<>(...)) instead makes
+    // Hibernate delete ALL of the recipe's rows and insert the whole list again.
+    private void applyIngredientIds(Recipe recipe, Set<Long> targetIds) {
+        Set<Long> present = new HashSet<>();
+        recipe.getIngredients().removeIf(ingredient -> {
+            present.add(ingredient.getId());
+            return !targetIds.contains(ingredient.getId());
+        });
+        for (Long ingredientId : targetIds) {
+            if (!present.contains(ingredientId)) {
+                recipe.getIngredients().add(ingredientRepository.getReferenceById(ingredientId));
+            }
+        }
+    }
+
+    private static Set<Long> currentIngredientIds(Recipe recipe) {
+        Set<Long> ids = new HashSet<>();
+        for (Ingredient ingredient : recipe.getIngredients()) {
+            ids.add(ingredient.getId());
+        }
+        return ids;
+    }
+
+    // The ids that name an existing ingredient (unknown ids are skipped, as in create)
+    private Set<Long> knownIngredientIds(List<Long> ingredientIds) {
+        return ingredientDictionary.existing(ingredientIds);
     }
 
     public void deleteById(Long recipeId) {
@@ -91,7 +340,125 @@ public class RecipeService {
             throw new ResourceNotFoundException("Recipe", recipeId);
         }
         recipeRepository.deleteById(recipeId);
+        AfterCommit.run(() -> recipeIndexUpdater.deleted(recipeId));
+    }
+
+    // Full-text search over titles and descriptions, answered by the in-memory RecipeSearchIndex.
+    // The index returns ranked ids; one projection query + one ingredient query turn them into DTOs.
+    public List<RecipeDto> search(String query, Integer limit) {
+        int k = (limit == null) ? DEFAULT_PAGE_SIZE : Math.min(Math.max(limit, 1), MAX_PAGE_SIZE);
+        List<Long> rankedIds = recipeSearchIndex.search(query, k);
+        if (rankedIds.isEmpty()) {
+            return List.of();
+        }
+        // The IN query returns rows in any order; put them back in rank order
+        Map<Long, RecipeRow> rowsById = new HashMap<>();
+        for (RecipeRow row : recipeRepository.findRowsByIds(rankedIds)) {
+            rowsById.put(row.id(), row);
+        }
+        List<RecipeRow> ranked = rankedIds.stream()
+                .map(id -> rowsById.get(id))
+                .filter(Objects::nonNull)
+                .toList();
+        return toDtos(ranked);
     }
 
+    // "What can I cook": recipes whose ingredients are (almost) all in the pantry, fewest missing
+    // first. The matching runs on the in-memory ingredient → recipe bitmaps; the database is only
+    // asked for the columns of the recipes that made the cut.
+    public List<PantryMatchDto> matchPantry(List<Long> pantryIngredientIds, Integer maxMissing, Integer limit) {
+        int missingAllowed = (maxMissing == null) ? DEFAULT_MAX_MISSING : Math.min(Math.max(maxMissing, 0), MAX_MISSING);
+        int k = (limit == null) ? DEFAULT_PAGE_SIZE : Math.min(Math.max(limit, 1), MAX_PAGE_SIZE);
+        Set<Long> pantry = new HashSet<>(pantryIngredientIds);
+        pantry.remove(null);
 
+        List<IngredientRecipeIndex.PantryMatch> matches = ingredientRecipeIndex.match(pantry, missingAllowed, k);
+        if (matches.isEmpty()) {
+            return List.of();
+        }
+        List<Long> ids = matches.stream().map(match -> match.recipeId()).toList();
+        Map<Long, RecipeDto> dtosById = new HashMap<>();
+        for (RecipeDto dto : toDtos(recipeRepository.findRowsByIds(ids))) {
+            dtosById.put(dto.getId(), dto);
+        }
+
+        List<PantryMatchDto> result = new ArrayList<>();
+        for (IngredientRecipeIndex.PantryMatch match : matches) {
+            RecipeDto recipe = dtosById.get(match.recipeId());
+            if (recipe == null) {
+                continue;
+            }
+            List<String> missingNames = match.missingIngredientIds().stream()
+                    .map(id -> ingredientDictionary.nameOf(id))
+                    .filter(Objects::nonNull)
+                    .sorted()
+                    .toList();
+            result.add(new PantryMatchDto(recipe, match.missingIngredientIds().size(), missingNames));
+        }
+        return result;
+    }
+
+    // Tells the in-memory indexes about the new state of the recipe once the transaction commits.
+    // The values are copied now, while the entity is still attached.
+    private void afterSave(Recipe recipe) {
+        Long id = recipe.getId();
+        String title = recipe.getTitle();
+        String description = recipe.getDescription();
+        List<Long> ingredientIds = recipe.getIngredients().stream()
+                .map(ingredient -> ingredient.getId())
+                .toList();
+        AfterCommit.run(() -> recipeIndexUpdater.saved(id, title, description, ingredientIds));
+    }
+
+    // Turns ingredient ids into Ingredient references for the recipe's @ManyToMany.
+    //
+    // The dictionary tells us which ids exist, and getReferenceById hands back an uninitialized
+    // proxy without a SELECT: Hibernate only needs the id to write the recipe_ingredient rows.
+    private Set<Ingredient> ingredientReferences(List<Long> ingredientIds) {
+        Set<Ingredient> ingredients = new HashSet<>();
+        for (Long ingredientId : ingredientDictionary.existing(ingredientIds)) {
+            ingredients.add(ingredientRepository.getReferenceById(ingredientId));
+        }
+        return ingredients;
+    }
+
+    // Builds DTOs for an arbitrary set of rows (a page, a single recipe) with one IN query
+    // for their ingredient ids.
+    List<RecipeDto> toDtos(List<RecipeRow> rows) {
+        if (rows.isEmpty()) {
+            return List.of();
+        }
+        List<Long> ids = rows.stream().map(row -> row.id()).toList();
+        return toDtos(rows, recipeRepository.findIngredientLinksByRecipeIds(ids));
+    }
+
+    // Groups the join-table rows by recipe, resolves the names in memory and joins them onto
+    // the rows, keeping the order of the rows as the query returned them. Ingredients this
+    // instance has not seen yet (created through another one) are loaded into the dictionary
+    // first, in one query for all of them.
+    private List<RecipeDto> toDtos(List<RecipeRow> rows, List<RecipeIngredientLink> links) {
+        Set<Long> unknown = new HashSet<>();
+        for (RecipeIngredientLink link : links) {
+            if (!ingredientDictionary.contains(link.getIngredientId())) {
+                unknown.add(link.getIngredientId());
+            }
+        }
+        if (!unknown.isEmpty()) {
+            ingredientDictionary.existing(unknown);
+        }
+        Map<Long, List<String>> namesByRecipe = new HashMap<>();
+        for (RecipeIngredientLink link : links) {
+            String name = ingredientDictionary.nameOf(link.getIngredientId());
+            if (name != null) {
+                namesByRecipe.computeIfAbsent(link.getRecipeId(), id -> new ArrayList<>()).add(name);
+            }
+        }
+        return rows.stream()
+                .map(row -> {
+                    List<String> names = namesByRecipe.getOrDefault(row.id(), new ArrayList<>());
+                    names.sort(Comparator.naturalOrder());
+                    return RecipeMapper.toDto(row, names);
+                })
+                .toList();
+    }
 }
@@ -0,0 +1,31 @@
+package com.derinkaras.recipebook.service;
+
+import com.derinkaras.recipebook.exception.BadRequestException;
+
+// Orders supported by the paginated recipe listing. Both are newest first.
+enum RecipeSort {
+    CREATED_AT("createdAt"),
+    ID("id");
+
+    private final String param;
+
+    RecipeSort(String param) {
+        this.param = param;
+    }
+
+    String param() {
+        return param;
+    }
+
+    static RecipeSort fromParam(String param) {
+        if (param == null) {
+            return CREATED_AT;
+        }
+        for (RecipeSort sort : values()) {
+            if (sort.param.equals(param)) {
+                return sort;
+            }
+        }
+        throw new BadRequestException("Unsupported sort: " + param);
+    }
+}
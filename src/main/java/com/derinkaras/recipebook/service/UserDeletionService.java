@@ -0,0 +1,218 @@
+package com.derinkaras.recipebook.service;
+
+import com.derinkaras.recipebook.cache.HibernateCacheEvictor;
+import com.derinkaras.recipebook.dto.user.UserDeletionJobDto;
+import com.derinkaras.recipebook.exception.ResourceNotFoundException;
+import com.derinkaras.recipebook.index.RecipeIndexUpdater;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.PreparedStatement;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+// Deletes a user and everything they own with set-based SQL.
+//
+// Going through JPA would mean loading the user, every Recipe and every ingredient set just so
+// Hibernate can issue one DELETE per row. Here each table is cleared with one statement:
+//
+//   1. lock the user row (SELECT ... FOR UPDATE): a concurrent recipe create needs a key-share
+//      lock on it for its foreign key, so no new recipe can sneak in while we delete
+//   2. DELETE recipe_ingredient rows of all the user's recipes   (join via USING)
+//   3. DELETE the recipes, RETURNING their ids for the in-memory indexes and cache
+//   4. DELETE the user_profile row, then the users row
+//
+// deleteUser() does all of it in one transaction. For accounts with a huge number of recipes,
+// startDeletion() runs the same work in the background in chunks of chunkSize recipes, each
+// chunk in its own short transaction (so no single transaction holds locks on millions of rows),
+// and reports progress through a job id. The last transaction repeats steps 1-4, so whatever
+// was left over is deleted atomically together with the user.
+@Service
+public class UserDeletionService {
+
+    private static final Logger log = LoggerFactory.getLogger(UserDeletionService.class);
+
+    // Finished jobs are kept this long so clients can read the final status
+    private static final Duration FINISHED_JOB_RETENTION = Duration.ofHours(1);
+
+    private static final String LOCK_USER = "SELECT id FROM users WHERE id = ? FOR UPDATE";
+    private static final String COUNT_RECIPES = "SELECT count(*) FROM recipe WHERE owner_id = ?";
+    private static final String DELETE_LINKS_OF_OWNER =
+            "DELETE FROM recipe_ingredient ri USING recipe r WHERE ri.recipe_id = r.id AND r.owner_id = ?";
+    private static final String DELETE_RECIPES_OF_OWNER = "DELETE FROM recipe WHERE owner_id = ? RETURNING id";
+    private static final String DELETE_PROFILE = "DELETE FROM user_profile WHERE user_id = ?";
+    private static final String DELETE_USER = "DELETE FROM users WHERE id = ?";
+
+    // Chunked mode
+    private static final String SELECT_RECIPE_CHUNK = "SELECT id FROM recipe WHERE owner_id = ? ORDER BY id LIMIT ?";
+    private static final String DELETE_LINKS_OF_RECIPES = "DELETE FROM recipe_ingredient WHERE recipe_id = ANY(?)";
+    private static final String DELETE_RECIPES = "DELETE FROM recipe WHERE id = ANY(?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final AsyncTaskExecutor taskExecutor;
+    private final RecipeIndexUpdater recipeIndexUpdater;
+    private final HibernateCacheEvictor hibernateCacheEvictor;
+    private final int chunkSize;
+
+    private final Map<String, UserDeletionJobDto> jobs = new ConcurrentHashMap<>();
+
+    public UserDeletionService(JdbcTemplate jdbcTemplate,
+                               PlatformTransactionManager transactionManager,
+                               @Qualifier("applicationTaskExecutor") AsyncTaskExecutor taskExecutor,
+                               RecipeIndexUpdater recipeIndexUpdater,
+                               HibernateCacheEvictor hibernateCacheEvictor,
+                               @Value("${recipebook.user-deletion.chunk-size:5000}") int chunkSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.taskExecutor = taskExecutor;
+        this.recipeIndexUpdater = recipeIndexUpdater;
+        this.hibernateCacheEvictor = hibernateCacheEvictor;
+        this.chunkSize = chunkSize;
+    }
+
+    // Synchronous: everything in one transaction. Returns the number of recipes deleted.
+    public long deleteUser(Long userId) {
+        return transactionTemplate.execute(status -> deleteAllLocked(userId));
+    }
+
+    // Asynchronous, chunked. Checks the user exists, then returns the job right away.
+    public UserDeletionJobDto startDeletion(Long userId) {
+        Long total = transactionTemplate.execute(status -> {
+            if (jdbcTemplate.queryForList(LOCK_USER, Long.class, userId).isEmpty()) {
+                throw new ResourceNotFoundException("User", userId);
+            }
+            return jdbcTemplate.queryForObject(COUNT_RECIPES, Long.class, userId);
+        });
+        removeExpiredJobs();
+
+        UserDeletionJobDto job = new UserDeletionJobDto();
+        job.setJobId(UUID.randomUUID().toString());
+        job.setUserId(userId);
+        job.setStatus("RUNNING");
+        job.setTotalRecipes(total);
+        job.setStartedAt(LocalDateTime.now());
+        jobs.put(job.getJobId(), job);
+
+        taskExecutor.execute(() -> runChunked(job));
+        return snapshot(job);
+    }
+
+    public UserDeletionJobDto getJob(String jobId) {
+        UserDeletionJobDto job = jobs.get(jobId);
+        if (job == null) {
+            throw new ResourceNotFoundException("Deletion job", jobId);
+        }
+        return snapshot(job);
+    }
+
+    private void runChunked(UserDeletionJobDto job) {
+        Long userId = job.getUserId();
+        try {
+            while (true) {
+                int deleted = transactionTemplate.execute(status -> deleteChunk(userId));
+                synchronized (job) {
+                    job.setDeletedRecipes(job.getDeletedRecipes() + deleted);
+                }
+                if (deleted < chunkSize) {
+                    break;
+                }
+            }
+            // Final atomic pass: anything created meanwhile, the profile and the user itself
+            long rest = transactionTemplate.execute(status -> deleteAllLocked(userId));
+            synchronized (job) {
+                job.setDeletedRecipes(job.getDeletedRecipes() + rest);
+                job.setStatus("COMPLETED");
+                job.setFinishedAt(LocalDateTime.now());
+            }
+        } catch (RuntimeException ex) {
+            log.error("Deleting user {} failed", userId, ex);
+            synchronized (job) {
+                job.setStatus("FAILED");
+                job.setError(ex.getMessage());
+                job.setFinishedAt(LocalDateTime.now());
+            }
+        }
+    }
+
+    // Steps 1-4 from the class comment; must run inside a transaction
+    private long deleteAllLocked(Long userId) {
+        if (jdbcTemplate.queryForList(LOCK_USER, Long.class, userId).isEmpty()) {
+            throw new ResourceNotFoundException("User", userId);
+        }
+        jdbcTemplate.update(DELETE_LINKS_OF_OWNER, userId);
+        List<Long> recipeIds = jdbcTemplate.queryForList(DELETE_RECIPES_OF_OWNER, Long.class, userId);
+        jdbcTemplate.update(DELETE_PROFILE, userId);
+        jdbcTemplate.update(DELETE_USER, userId);
+        // These deletes bypass Hibernate, so the cached User must be dropped by hand
+        // (otherwise findById would still return the deleted owner)
+        AfterCommit.run(() -> {
+            recipeIds.forEach(recipeIndexUpdater::deleted);
+            hibernateCacheEvictor.evictUser(userId);
+            hibernateCacheEvictor.evictRecipeIngredients(recipeIds);
+        });
+        return recipeIds.size();
+    }
+
+    // One chunk of the async mode: up to chunkSize recipes and their join rows
+    private int deleteChunk(Long userId) {
+        List<Long> recipeIds = jdbcTemplate.queryForList(SELECT_RECIPE_CHUNK, Long.class, userId, chunkSize);
+        if (recipeIds.isEmpty()) {
+            return 0;
+        }
+        Long[] ids = recipeIds.toArray(new Long[0]);
+        for (String sql : new String[]{DELETE_LINKS_OF_RECIPES, DELETE_RECIPES}) {
+            jdbcTemplate.update(con -> {
+                PreparedStatement ps = con.prepareStatement(sql);
+                ps.setArray(1, con.createArrayOf("bigint", ids));
+                return ps;
+            });
+        }
+        AfterCommit.run(() -> {
+            recipeIds.forEach(recipeIndexUpdater::deleted);
+            hibernateCacheEvictor.evictRecipeIngredients(recipeIds);
+        });
+        return recipeIds.size();
+    }
+
+    private void removeExpiredJobs() {
+        LocalDateTime cutoff = LocalDateTime.now().minus(FINISHED_JOB_RETENTION);
+        List<String> expired = new ArrayList<>();
+        jobs.forEach((id, job) -> {
+            synchronized (job) {
+                if (job.getFinishedAt() != null && job.getFinishedAt().isBefore(cutoff)) {
+                    expired.add(id);
+                }
+            }
+        });
+        expired.forEach(jobs::remove);
+    }
+
+    // The worker keeps mutating the job; callers get a consistent copy
+    private static UserDeletionJobDto snapshot(UserDeletionJobDto job) {
+        synchronized (job) {
+            UserDeletionJobDto copy = new UserDeletionJobDto();
+            copy.setJobId(job.getJobId());
+            copy.setUserId(job.getUserId());
+            copy.setStatus(job.getStatus());
+            copy.setTotalRecipes(job.getTotalRecipes());
+            copy.setDeletedRecipes(job.getDeletedRecipes());
+            copy.setStartedAt(job.getStartedAt());
+            copy.setFinishedAt(job.getFinishedAt());
+            copy.setError(job.getError());
+            return copy;
+        }
+    }
+}
@@ -2,87 +2,184 @@ package com.derinkaras.recipebook.service;
 
 import com.derinkaras.recipebook.dto.recipe.RecipeDto;
 import com.derinkaras.recipebook.dto.user.*;
+import com.derinkaras.recipebook.exception.BadRequestException;
 import com.derinkaras.recipebook.exception.DuplicateResourceException;
 import com.derinkaras.recipebook.exception.ResourceNotFoundException;
-import com.derinkaras.recipebook.mapper.RecipeMapper;
+import com.derinkaras.recipebook.index.UserAvailabilityIndex;
 import com.derinkaras.recipebook.mapper.UserMapper;
 import com.derinkaras.recipebook.mapper.UserProfileMapper;
 import com.derinkaras.recipebook.model.User;
 import com.derinkaras.recipebook.model.UserProfile;
 import com.derinkaras.recipebook.respository.RecipeRepository;
 import com.derinkaras.recipebook.respository.UserRepository;
+import io.micrometer.core.annotation.Timed;
 import jakarta.transaction.Transactional;
 import jakarta.validation.constraints.Null;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
-import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.util.List;
 
 @Service
+@Timed("recipebook.service")
 @Transactional
 
 public class UserService {
+    static final int DEFAULT_DASHBOARD_RECIPES = 5;
+    static final int MAX_DASHBOARD_RECIPES = 50;
 
     private UserRepository userRepository;
     private RecipeRepository recipeRepository;
-    private final PasswordEncoder passwordEncoder;
+    private final RecipeService recipeService;
+    private final PasswordHashingService passwordHashingService;
+    private final TransactionTemplate transactionTemplate;
+    private final UserAvailabilityIndex userAvailabilityIndex;
 
     public UserService(UserRepository userRepository,
-                       RecipeRepository recipeRepository, PasswordEncoder passwordEncoder) {
+                       RecipeRepository recipeRepository, RecipeService recipeService,
+                       PasswordHashingService passwordHashingService,
+                       PlatformTransactionManager transactionManager,
+                       UserAvailabilityIndex userAvailabilityIndex) {
         this.userRepository = userRepository;
         this.recipeRepository = recipeRepository;
-        this.passwordEncoder = new BCryptPasswordEncoder();
+        this.recipeService = recipeService;
+        this.passwordHashingService = passwordHashingService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.userAvailabilityIndex = userAvailabilityIndex;
     }
 
-    public UserDto registerUser(CreateUserRequest user) {
-        if (userRepository.existsByEmail(user.getEmail())) {
-            throw new DuplicateResourceException("Email already exists");
+    // Signup-form availability check. The Bloom filters answer "free" for most names without a
+    // query; only a "maybe taken" is confirmed against the database.
+    @Transactional(Transactional.TxType.SUPPORTS)
+    public AvailabilityDto checkAvailability(String username, String email) {
+        if ((username == null || username.isBlank()) && (email == null || email.isBlank())) {
+            throw new BadRequestException("username or email is required");
+        }
+        AvailabilityDto result = new AvailabilityDto();
+        if (username != null && !username.isBlank()) {
+            result.setUsername(username);
+            result.setUsernameAvailable(!(userAvailabilityIndex.mightHaveUsername(username)
+                    && userRepository.existsByUsername(username)));
         }
-        if (userRepository.existsByUsername(user.getUsername())) {
-            throw new DuplicateResourceException("Username already exists");
+        if (email != null && !email.isBlank()) {
+            result.setEmail(email);
+            result.setEmailAvailable(!(userAvailabilityIndex.mightHaveEmail(email)
+                    && userRepository.existsByEmail(email)));
         }
+        return result;
+    }
+
+    // NOT_SUPPORTED: the password is hashed on the hashing pool, which can take a while under
+    // load, and we don't want to hold a transaction (and its pooled connection) open meanwhile.
+    // The save runs in its own short repository transaction.
+    //
+    // There are no existsByEmail/existsByUsername pre-checks: the unique constraints on
+    // users.email and users.username decide, in the same statement as the INSERT (and without
+    // the race two concurrent signups had between check and insert). saveAndFlush makes the
+    // INSERT run here so a violation can be turned into the same 409 messages as before.
+    @Transactional(Transactional.TxType.NOT_SUPPORTED)
+    public UserDto registerUser(CreateUserRequest user) {
         User userEntity = new User();
         userEntity.setEmail(user.getEmail());
         userEntity.setUsername(user.getUsername());
 
         // Hash the raw password before setting
-        String hashed = passwordEncoder.encode(user.getPassword());
+        String hashed = passwordHashingService.hash(user.getPassword());
         userEntity.setPassword(hashed);
 
 
-        User saved =  userRepository.save(userEntity);
-
-
-
+        User saved;
+        try {
+            saved = userRepository.saveAndFlush(userEntity);
+        } catch (DataIntegrityViolationException ex) {
+            throw duplicateOf(ex);
+        }
+        // No surrounding transaction here, so this runs right away: the row is committed
+        AfterCommit.run(() -> userAvailabilityIndex.add(saved.getUsername(), saved.getEmail()));
         return UserMapper.toUserDto(saved);
     }
 
     // We can use the create user request dto since it has all fields
+    //
+    // Same idea as registerUser: the new password is hashed first, outside any transaction,
+    // and only then is the user loaded and updated in one transaction.
+    @Transactional(Transactional.TxType.NOT_SUPPORTED)
     public UserDto updateUser(Long userId, UpdateUserRequest req) {
+        String hashedPassword = (req.getPassword() != null) ? passwordHashingService.hash(req.getPassword()) : null;
+        return transactionTemplate.execute(status -> applyUpdate(userId, req, hashedPassword));
+    }
+
+    private UserDto applyUpdate(Long userId, UpdateUserRequest req, String hashedPassword) {
         User user = userRepository.findById(userId)
                 .orElseThrow(() -> new ResourceNotFoundException("User", userId));
+        // The Bloom filters skip the existsBy query for names that are definitely free
         if (req.getUsername() != null) {
-            if (userRepository.existsByUsername(req.getUsername())) {
+            if (userAvailabilityIndex.mightHaveUsername(req.getUsername())
+                    && userRepository.existsByUsername(req.getUsername())) {
                 throw new DuplicateResourceException("Username already exists");
             } else {
                 user.setUsername(req.getUsername());
             }
         }
         if (req.getEmail() != null) {
-            if (userRepository.existsByEmail(req.getEmail())) {
+            if (userAvailabilityIndex.mightHaveEmail(req.getEmail())
+                    && userRepository.existsByEmail(req.getEmail())) {
                 throw new DuplicateResourceException("Email already exists");
             } else {
                 user.setEmail(req.getEmail());
             }
         }
-        if (req.getPassword() != null) {
-            user.setPassword(passwordEncoder.encode(req.getPassword()));
+        if (hashedPassword != null) {
+            user.setPassword(hashedPassword);
         }
-        User saved = userRepository.save(user);
+        User saved;
+        try {
+            saved = userRepository.saveAndFlush(user);
+        } catch (DataIntegrityViolationException ex) {
+            // Someone took the name between our check and the UPDATE
+            throw duplicateOf(ex);
+        }
+        AfterCommit.run(() -> userAvailabilityIndex.add(req.getUsername(), req.getEmail()));
         return UserMapper.toUserDto(saved);
     }
 
+    // Postgres reports which unique constraint failed in the detail message, e.g.
+    //   Key (email)=(a@b.com) already exists.
+    private static DuplicateResourceException duplicateOf(DataIntegrityViolationException ex) {
+        String detail = String.valueOf(ex.getMostSpecificCause().getMessage());
+        if (detail.contains("(email)")) {
+            return new DuplicateResourceException("Email already exists");
+        }
+        if (detail.contains("(username)")) {
+            return new DuplicateResourceException("Username already exists");
+        }
+        return new DuplicateResourceException("User already exists");
+    }
+
+    // The user page in a fixed four queries, however many recipes the user has:
+    //   1. user + profile (fetch join)
+    //   2. count of the user's recipes
+    //   3. the newest `recipes` recipes (keyset first page, projection rows)
+    //   4. the ingredient ids of those recipes (names come from IngredientDictionary)
+    // Before this, the page was three requests and walked the lazy User.recipes list.
+    public UserDashboardDto getDashboard(Long userId, Integer recipes) {
+        int latest = (recipes == null) ? DEFAULT_DASHBOARD_RECIPES : Math.min(Math.max(recipes, 0), MAX_DASHBOARD_RECIPES);
+        User user = userRepository.findWithProfileById(userId)
+                .orElseThrow(() -> new ResourceNotFoundException("User", userId));
+
+        UserDto userDto = UserMapper.toUserDto(user);
+        if (user.getProfile() != null) {
+            userDto.setProfile(UserProfileMapper.userProfileToDto(user.getProfile()));
+        }
+        UserDashboardDto dashboard = new UserDashboardDto();
+        dashboard.setUser(userDto);
+        dashboard.setRecipeCount(recipeService.countByOwner(userId));
+        dashboard.setLatestRecipes(latest == 0 ? List.of() : recipeService.getLatestByOwner(userId, latest));
+        return dashboard;
+    }
+
     public UserDto getUserById(Long userId) {
         User user = userRepository.findById(userId)
                 .orElseThrow(() -> new ResourceNotFoundException("User", userId));
@@ -153,13 +250,15 @@ public class UserService {
 
 
 
+    // The explanation above is still how user.getRecipes() works, but we no longer use it here:
+    // walking the lazy list costs one query for the recipes plus one per recipe for its
+    // ingredients. RecipeService.getAll(ownerId) reads the same recipes through the projection
+    // queries, so the whole response costs an existence check + two selects.
     public List<RecipeDto> getUserRecipes(Long userId) {
-        User user = userRepository.findById(userId)
-                .orElseThrow(() -> new ResourceNotFoundException("User", userId));
-
-        return user.getRecipes().stream()
-                .map(recipe -> RecipeMapper.toDto(recipe))
-                .toList();
+        if (!userRepository.existsById(userId)) {
+            throw new ResourceNotFoundException("User", userId);
+        }
+        return recipeService.getAll(userId);
     }
 
     // A User and a UserProfile are two different resources. Therefor they will have different controllers but
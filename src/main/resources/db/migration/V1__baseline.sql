@@ -0,0 +1,47 @@
+-- Baseline: the schema as the entities map it (previously created by ddl-auto=update).
+-- Existing databases are baselined at this version and skip this script
+-- (spring.flyway.baseline-on-migrate); new databases start here.
+
+CREATE SEQUENCE users_id_seq START WITH 1 INCREMENT BY 1;
+CREATE SEQUENCE ingredient_id_seq START WITH 1 INCREMENT BY 1;
+CREATE SEQUENCE recipe_id_seq START WITH 1 INCREMENT BY 1;
+
+CREATE TABLE users (
+    id           bigint       NOT NULL DEFAULT nextval('users_id_seq') PRIMARY KEY,
+    email        varchar(255) NOT NULL UNIQUE,
+    username     varchar(255) NOT NULL UNIQUE,
+    password     varchar(255) NOT NULL,
+    created_date timestamp(6)
+);
+ALTER SEQUENCE users_id_seq OWNED BY users.id;
+
+CREATE TABLE user_profile (
+    id         bigint GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    first_name varchar(255),
+    last_name  varchar(255),
+    bio        varchar(500),
+    user_id    bigint NOT NULL UNIQUE REFERENCES users (id)
+);
+
+CREATE TABLE ingredient (
+    id   bigint       NOT NULL DEFAULT nextval('ingredient_id_seq') PRIMARY KEY,
+    name varchar(255) NOT NULL UNIQUE
+);
+ALTER SEQUENCE ingredient_id_seq OWNED BY ingredient.id;
+
+CREATE TABLE recipe (
+    id          bigint        NOT NULL DEFAULT nextval('recipe_id_seq') PRIMARY KEY,
+    title       varchar(255)  NOT NULL,
+    description varchar(2000),
+    difficulty  varchar(255),
+    created_at  timestamp(6),
+    version     bigint        NOT NULL DEFAULT 0,
+    owner_id    bigint REFERENCES users (id)
+);
+ALTER SEQUENCE recipe_id_seq OWNED BY recipe.id;
+
+CREATE TABLE recipe_ingredient (
+    recipe_id     bigint NOT NULL REFERENCES recipe (id),
+    ingredient_id bigint NOT NULL REFERENCES ingredient (id),
+    PRIMARY KEY (recipe_id, ingredient_id)
+);
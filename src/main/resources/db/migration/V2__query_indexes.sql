@@ -0,0 +1,25 @@
+-- Indexes for the hot queries. Postgres does not index foreign keys by itself, so until now
+-- every owner lookup and every "which recipes use this ingredient" was a sequential scan.
+--
+-- Already covered by constraints: users.email, users.username, ingredient.name (UNIQUE),
+-- recipe_ingredient (recipe_id, ingredient_id) (PRIMARY KEY, also serves recipe_id lookups).
+--
+-- CONCURRENTLY builds each index without blocking writes to the table, which matters on a
+-- populated database. It cannot run inside a transaction, so V2__query_indexes.sql.conf sets
+-- executeInTransaction=false. A failed build leaves an INVALID index behind that IF NOT EXISTS
+-- would then skip, so drop it before running the migration again.
+
+-- Keyset listing of all recipes, newest first:
+--   ORDER BY created_at DESC, id DESC  /  WHERE (created_at, id) < (?, ?)
+CREATE INDEX CONCURRENTLY IF NOT EXISTS recipe_created_at_id_idx ON recipe (created_at DESC, id DESC);
+
+-- One owner's recipes newest first (keyset listing, dashboard "latest N"). Its leading
+-- owner_id column also serves countByOwnerId, the owner's ingredient links and user deletion.
+CREATE INDEX CONCURRENTLY IF NOT EXISTS recipe_owner_created_at_id_idx ON recipe (owner_id, created_at DESC, id DESC);
+
+-- One owner's recipes by id (sort=id listing, getAll(ownerId), chunked user deletion)
+CREATE INDEX CONCURRENTLY IF NOT EXISTS recipe_owner_id_idx ON recipe (owner_id, id);
+
+-- Reverse lookup ingredient → recipes: bumping recipe versions when an ingredient is deleted,
+-- and the foreign-key check Postgres runs on that delete
+CREATE INDEX CONCURRENTLY IF NOT EXISTS recipe_ingredient_ingredient_idx ON recipe_ingredient (ingredient_id, recipe_id);
@@ -0,0 +1,26 @@
+-- Brings databases created by the pre-Flyway application up to V1. Those are baselined at
+-- version 1 (spring.flyway.baseline-on-migrate) without running V1, and their ddl-auto=update
+-- schema differs from it in two ways. On a database created from V1 both steps are no-ops.
+
+-- 1. No recipe.version column (optimistic locking and the recipe ETag); old rows start at 0
+ALTER TABLE recipe ADD COLUMN IF NOT EXISTS version bigint NOT NULL DEFAULT 0;
+
+-- 2. users, ingredient and recipe ids are identity columns. The entities draw ids from the
+--    sequences <table>_id_seq, and Hibernate's schema validation does not count the sequence
+--    behind an identity column, so each becomes a plain sequence default that carries on from
+--    the highest id in use.
+DO $$
+DECLARE
+    t text;
+BEGIN
+    FOREACH t IN ARRAY ARRAY['users', 'ingredient', 'recipe'] LOOP
+        IF EXISTS (SELECT 1 FROM information_schema.columns
+                   WHERE table_schema = current_schema() AND table_name = t
+                     AND column_name = 'id' AND is_identity = 'YES') THEN
+            EXECUTE format('ALTER TABLE %I ALTER COLUMN id DROP IDENTITY', t);
+            EXECUTE format('CREATE SEQUENCE %I OWNED BY %I.id', t || '_id_seq', t);
+            EXECUTE format('SELECT setval(%L, coalesce(max(id), 0) + 1, false) FROM %I', t || '_id_seq', t);
+            EXECUTE format('ALTER TABLE %I ALTER COLUMN id SET DEFAULT nextval(%L)', t, t || '_id_seq');
+        END IF;
+    END LOOP;
+END $$;
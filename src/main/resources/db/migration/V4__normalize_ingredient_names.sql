@@ -0,0 +1,48 @@
+-- Ingredient names written before IngredientNames existed kept their case and spacing, so
+-- "Tomato", "tomato" and " Tomato  " can be three rows, and the normalized write paths then
+-- add a fourth. This folds every such group into its oldest row under the normalized name
+-- (trimmed, whitespace collapsed, lower-cased; the same form IngredientNames.normalize
+-- produces) and puts a unique index on that form so the database rejects new duplicates.
+--
+-- Recipes linked to a merged or renamed ingredient get a new version, since their ingredient
+-- list (and so their ETag) changes. The in-memory ingredient indexes are built from the
+-- table at startup, after Flyway has run.
+
+CREATE TEMPORARY TABLE ingredient_merge ON COMMIT DROP AS
+SELECT id, name, normalized, min(id) OVER (PARTITION BY normalized) AS survivor
+FROM (SELECT id, name, lower(btrim(regexp_replace(name, '\s+', ' ', 'g'))) AS normalized
+      FROM ingredient) names;
+
+UPDATE recipe SET version = version + 1
+WHERE id IN (SELECT ri.recipe_id
+             FROM recipe_ingredient ri
+             JOIN ingredient_merge m ON m.id = ri.ingredient_id
+             WHERE m.id <> m.survivor OR m.name <> m.normalized);
+
+-- Re-point the links of merged rows at the survivor; a recipe that had two spellings of the
+-- same ingredient keeps one link
+INSERT INTO recipe_ingredient (recipe_id, ingredient_id)
+SELECT ri.recipe_id, m.survivor
+FROM recipe_ingredient ri
+JOIN ingredient_merge m ON m.id = ri.ingredient_id
+WHERE m.id <> m.survivor
+ON CONFLICT DO NOTHING;
+
+DELETE FROM recipe_ingredient ri
+USING ingredient_merge m
+WHERE m.id = ri.ingredient_id AND m.id <> m.survivor;
+
+DELETE FROM ingredient i
+USING ingredient_merge m
+WHERE m.id = i.id AND m.id <> m.survivor;
+
+-- A blank name has no normalized form; the merge above already left at most one of them
+UPDATE ingredient i
+SET name = m.normalized
+FROM ingredient_merge m
+WHERE m.id = i.id AND m.normalized <> '' AND i.name <> m.normalized;
+
+-- Not CONCURRENTLY: the merge above already holds locks on ingredient, and the table is the
+-- small side of the catalog
+CREATE UNIQUE INDEX ingredient_normalized_name_idx
+    ON ingredient (lower(btrim(regexp_replace(name, '\s+', ' ', 'g'))));
@@ -0,0 +1,16 @@
+-- Hibernate draws users, ingredient and recipe ids from their sequences with the pooled
+-- optimizer (allocationSize = 50): one nextval() returning V reserves the block V-49..V, so a
+-- batch of 50 inserts costs one sequence round trip instead of 50. Its schema validation
+-- requires the sequence's INCREMENT BY to equal the allocation size.
+--
+-- The restart value puts the first block just above the highest id in use. Other callers of
+-- nextval() (column defaults, the ingredient upsert) take a single value; since every value
+-- is a multiple of 50 apart it is never inside someone else's block.
+ALTER SEQUENCE users_id_seq INCREMENT BY 50;
+SELECT setval('users_id_seq', coalesce((SELECT max(id) FROM users), 0) + 50, false);
+
+ALTER SEQUENCE ingredient_id_seq INCREMENT BY 50;
+SELECT setval('ingredient_id_seq', coalesce((SELECT max(id) FROM ingredient), 0) + 50, false);
+
+ALTER SEQUENCE recipe_id_seq INCREMENT BY 50;
+SELECT setval('recipe_id_seq', coalesce((SELECT max(id) FROM recipe), 0) + 50, false);
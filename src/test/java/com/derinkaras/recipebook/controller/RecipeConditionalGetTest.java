@@ -0,0 +1,129 @@
+package com.derinkaras.recipebook.controller;
+
+import com.derinkaras.recipebook.cache.RecipeCache;
+import com.derinkaras.recipebook.dto.recipe.CreateRecipeRequest;
+import com.derinkaras.recipebook.dto.user.CreateUserRequest;
+import com.derinkaras.recipebook.service.RecipeService;
+import com.derinkaras.recipebook.service.UserDeletionService;
+import com.derinkaras.recipebook.service.UserService;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// Conditional GETs: every ETag'd endpoint answers a matching If-None-Match with 304, and the
+// cheap ones do it without borrowing a pooled connection (counted by Hikari's acquire timer).
+@SpringBootTest
+@AutoConfigureMockMvc
+@WithMockUser
+class RecipeConditionalGetTest {
+
+    private static final int RECIPES = 6;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private RecipeService recipeService;
+
+    @Autowired
+    private UserDeletionService userDeletionService;
+
+    @Autowired
+    private RecipeCache recipeCache;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private Long ownerId;
+    private final List<Long> recipeIds = new ArrayList<>();
+
+    @BeforeEach
+    void seed() {
+        String name = "cg" + Long.toString(System.nanoTime(), 36);
+        CreateUserRequest user = new CreateUserRequest();
+        user.setUsername(name);
+        user.setEmail(name + "@example.com");
+        user.setPassword("password-" + name);
+        ownerId = userService.registerUser(user).getId();
+
+        for (int i = 0; i < RECIPES; i++) {
+            CreateRecipeRequest req = new CreateRecipeRequest();
+            req.setTitle("recipe " + i);
+            req.setDifficulty("EASY");
+            req.setOwnerId(ownerId);
+            recipeIds.add(recipeService.create(req).getId());
+        }
+    }
+
+    @AfterEach
+    void cleanUp() {
+        userDeletionService.deleteUser(ownerId);
+        recipeCache.invalidateAll(recipeIds);
+    }
+
+    @Test
+    void singleRecipeTagMatchesItsBody() throws Exception {
+        Long id = recipeIds.get(0);
+        recipeCache.invalidateAll(recipeIds);
+        String etag = etagOf("/api/v1/recipe/" + id);
+
+        assertThat(etag).isEqualTo("\"v" + recipeService.getById(id).getVersion() + "\"");
+        mockMvc.perform(get("/api/v1/recipe/" + id).header("If-None-Match", etag)).andExpect(status().isNotModified());
+    }
+
+    // A cached recipe, and the 304 for it, are answered without borrowing a pooled connection
+    @Test
+    void singleRecipeOnCacheHitTakesNoConnection() throws Exception {
+        String uri = "/api/v1/recipe/" + recipeIds.get(0);
+        String etag = etagOf(uri);
+
+        double acquiredBefore = connectionsAcquired();
+        mockMvc.perform(get(uri)).andExpect(status().isOk());
+        mockMvc.perform(get(uri).header("If-None-Match", etag)).andExpect(status().isNotModified());
+        assertThat(connectionsAcquired()).isEqualTo(acquiredBefore);
+    }
+
+    @Test
+    void keysetPageIsConditional() throws Exception {
+        String uri = "/api/v1/recipe?limit=5&ownerId=" + ownerId;
+        String etag = etagOf(uri);
+
+        assertThat(etag).isNotNull();
+        mockMvc.perform(get(uri).header("If-None-Match", etag)).andExpect(status().isNotModified());
+    }
+
+    // The ingredient list's tag is a fingerprint of the in-memory dictionary
+    @Test
+    void unchangedIngredientListTakesNoConnection() throws Exception {
+        String etag = etagOf("/api/v1/ingredient");
+
+        double acquiredBefore = connectionsAcquired();
+        mockMvc.perform(get("/api/v1/ingredient").header("If-None-Match", etag)).andExpect(status().isNotModified());
+        assertThat(connectionsAcquired()).isEqualTo(acquiredBefore);
+    }
+
+    private String etagOf(String uri) throws Exception {
+        return mockMvc.perform(get(uri)).andExpect(status().isOk())
+                .andReturn().getResponse().getHeader("ETag");
+    }
+
+    private double connectionsAcquired() {
+        return meterRegistry.get("hikaricp.connections.acquire").timer().count();
+    }
+}
@@ -0,0 +1,175 @@
+package com.derinkaras.recipebook.controller;
+
+import com.derinkaras.recipebook.cache.RecipeCache;
+import com.derinkaras.recipebook.dto.recipe.CreateRecipeRequest;
+import com.derinkaras.recipebook.dto.user.CreateUserRequest;
+import com.derinkaras.recipebook.service.IngredientService;
+import com.derinkaras.recipebook.service.RecipeService;
+import com.derinkaras.recipebook.service.UserDeletionService;
+import com.derinkaras.recipebook.service.UserService;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// Every recipe read endpoint must cost the same number of statements however many recipes and
+// ingredients it returns (no N+1 over recipes, ingredients or the lazy User.recipes list).
+//
+// Two owners are seeded through the services, a small one (1 recipe, 1 ingredient) and a large
+// one (20 recipes, 8 ingredients each), and each endpoint is called for both. The statement count
+// is Hibernate's prepared-statement statistic (hibernate.generate_statistics is on), taken around
+// the real HTTP request so the controller, the service and the mapping are all included.
+// The seed data is committed (the AfterCommit hooks fill the in-memory indexes) and removed again
+// in @AfterEach.
+@SpringBootTest
+@AutoConfigureMockMvc
+@WithMockUser
+class RecipeReadQueryCountTest {
+
+    private static final int LARGE_RECIPES = 20;
+    private static final int LARGE_INGREDIENTS = 8;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private RecipeService recipeService;
+
+    @Autowired
+    private IngredientService ingredientService;
+
+    @Autowired
+    private UserDeletionService userDeletionService;
+
+    @Autowired
+    private RecipeCache recipeCache;
+
+    private Statistics statistics;
+    private Long smallOwner;
+    private Long largeOwner;
+    private Long smallRecipe;
+    private Long largeRecipe;
+    private final List<Long> recipeIds = new ArrayList<>();
+    private final List<Long> ingredientIds = new ArrayList<>();
+
+    @BeforeEach
+    void seed() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        String run = Long.toString(System.nanoTime(), 36);
+
+        List<String> names = new ArrayList<>();
+        for (int i = 0; i < LARGE_INGREDIENTS; i++) {
+            names.add("qc-" + run + "-ingredient-" + i);
+        }
+        ingredientIds.addAll(ingredientService.resolveNames(names).values());
+
+        smallOwner = registerUser("qcs" + run);
+        largeOwner = registerUser("qcl" + run);
+        smallRecipe = createRecipe(smallOwner, "small", names.subList(0, 1));
+        for (int i = 0; i < LARGE_RECIPES; i++) {
+            Long id = createRecipe(largeOwner, "large " + i, names);
+            if (largeRecipe == null) largeRecipe = id;
+        }
+    }
+
+    @AfterEach
+    void cleanUp() {
+        userDeletionService.deleteUser(smallOwner);
+        userDeletionService.deleteUser(largeOwner);
+        ingredientIds.forEach(ingredientService::delete);
+        recipeCache.invalidateAll(recipeIds);
+    }
+
+    @Test
+    void listOfOwnerRecipes() throws Exception {
+        assertConstant("/api/v1/recipe?ownerId=" + smallOwner, "/api/v1/recipe?ownerId=" + largeOwner, 3);
+    }
+
+    @Test
+    void keysetPageOfOwnerRecipes() throws Exception {
+        assertConstant("/api/v1/recipe?limit=50&ownerId=" + smallOwner, "/api/v1/recipe?limit=50&ownerId=" + largeOwner, 2);
+    }
+
+    @Test
+    void userRecipes() throws Exception {
+        assertConstant("/api/v1/user?userId=" + smallOwner, "/api/v1/user?userId=" + largeOwner, 3);
+    }
+
+    @Test
+    void userDashboard() throws Exception {
+        assertConstant("/api/v1/user/" + smallOwner + "/dashboard?recipes=50", "/api/v1/user/" + largeOwner + "/dashboard?recipes=50", 4);
+    }
+
+    @Test
+    void singleRecipeOnCacheMiss() throws Exception {
+        recipeCache.invalidateAll(recipeIds);
+        assertConstant("/api/v1/recipe/" + smallRecipe, "/api/v1/recipe/" + largeRecipe, 3);
+    }
+
+    // The unfiltered list grows with the whole table, so it is compared before and after adding
+    // another batch of recipes rather than across owners.
+    @Test
+    void listOfAllRecipes() throws Exception {
+        long before = statementsFor("/api/v1/recipe");
+        for (int i = 0; i < LARGE_RECIPES; i++) {
+            createRecipe(smallOwner, "extra " + i, List.of());
+        }
+        long after = statementsFor("/api/v1/recipe");
+
+        assertThat(after).isEqualTo(before);
+        assertThat(after).isLessThanOrEqualTo(3);
+    }
+
+    private void assertConstant(String small, String large, long max) throws Exception {
+        long smallCount = statementsFor(small);
+        long largeCount = statementsFor(large);
+
+        assertThat(largeCount).as("statements for %s", large).isEqualTo(smallCount);
+        assertThat(largeCount).as("statements for %s", large).isLessThanOrEqualTo(max);
+    }
+
+    private long statementsFor(String uri) throws Exception {
+        statistics.clear();
+        mockMvc.perform(get(uri)).andExpect(status().isOk());
+        return statistics.getPrepareStatementCount();
+    }
+
+    private Long registerUser(String name) {
+        CreateUserRequest req = new CreateUserRequest();
+        req.setUsername(name);
+        req.setEmail(name + "@example.com");
+        req.setPassword("password-" + name);
+        return userService.registerUser(req).getId();
+    }
+
+    private Long createRecipe(Long ownerId, String title, List<String> ingredientNames) {
+        CreateRecipeRequest req = new CreateRecipeRequest();
+        req.setTitle(title);
+        req.setDifficulty("EASY");
+        req.setOwnerId(ownerId);
+        req.setIngredientNames(new ArrayList<>(ingredientNames));
+        Long id = recipeService.create(req).getId();
+        recipeIds.add(id);
+        return id;
+    }
+}
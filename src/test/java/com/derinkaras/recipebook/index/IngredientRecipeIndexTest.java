@@ -0,0 +1,91 @@
+package com.derinkaras.recipebook.index;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class IngredientRecipeIndexTest {
+
+    // Nothing is loaded from the database: load() only runs as a Spring @PostConstruct
+    private final IngredientRecipeIndex index = new IngredientRecipeIndex(null, null);
+
+    @Test
+    void matchesPantryAndForgetsDeletedIngredients() {
+        index.update(10L, List.of(1L, 2L));
+        index.update(5_000_000L, List.of(1L, 3L));
+        index.update(20L, List.of(4L));
+
+        assertThat(index.match(Set.of(1L, 2L), 1, 10))
+                .extracting(IngredientRecipeIndex.PantryMatch::recipeId)
+                .containsExactly(10L, 5_000_000L);
+        assertThat(index.recipeCount(1L)).isEqualTo(2);
+
+        index.removeIngredient(3L);
+        assertThat(index.match(Set.of(1L), 0, 10))
+                .extracting(IngredientRecipeIndex.PantryMatch::recipeId)
+                .containsExactly(5_000_000L);
+        assertThat(index.recipesUsing(3L)).isEmpty();
+    }
+
+    @Test
+    void recipeCountsFollowLinkChanges() {
+        index.update(1L, List.of(7L, 8L));
+        index.update(2L, List.of(7L));
+        index.update(3L, List.of(7L, 8L));
+        assertThat(index.recipeCount(7L)).isEqualTo(3);
+        assertThat(index.recipeCount(8L)).isEqualTo(2);
+
+        index.update(1L, List.of(8L));
+        index.remove(3L);
+        assertThat(index.recipeCount(7L)).isEqualTo(1);
+        assertThat(index.recipeCount(8L)).isEqualTo(1);
+
+        index.removeIngredient(8L);
+        index.remove(2L);
+        assertThat(index.recipeCount(7L)).isZero();
+        assertThat(index.recipeCount(8L)).isZero();
+        assertThat(index.recipeCount(9L)).isZero();
+    }
+
+    // A catalog after years of churn: 200,000 live recipes with ids spread up to 10,000,000
+    // (the sequence is shared with deleted and bulk-imported recipes), 8 ingredients each out of
+    // 2,000, most of them rare. A BitSet per ingredient would be sized by the highest recipe id
+    // using it; the bitmaps have to stay proportional to the 1.6 million links instead.
+    // (At the time of writing: about 2.5 GB of BitSets against 4.9 MB of RoaringBitmaps.)
+    @Test
+    void memoryFollowsLinksNotHighestRecipeId() {
+        Random random = new Random(42);
+        Map<Long, Long> highestRecipeByIngredient = new HashMap<>();
+        long links = 0;
+        for (int i = 0; i < 200_000; i++) {
+            long recipeId = i * 50L + random.nextInt(50);
+            Set<Long> ingredients = new LinkedHashSet<>();
+            while (ingredients.size() < 8) {
+                // Cubed: low ids (salt, onion, ...) are in most recipes, the long tail in few
+                double r = random.nextDouble();
+                ingredients.add((long) (2_000 * r * r * r));
+            }
+            index.update(recipeId, ingredients);
+            for (Long ingredientId : ingredients) {
+                highestRecipeByIngredient.merge(ingredientId, recipeId, Math::max);
+            }
+            links += ingredients.size();
+        }
+
+        long bitSetBytes = 0;
+        for (long highest : highestRecipeByIngredient.values()) {
+            bitSetBytes += (highest / 64 + 1) * Long.BYTES;
+        }
+        long bitmapBytes = index.bitmapBytes();
+
+        assertThat(bitmapBytes).isLessThan(bitSetBytes / 20);
+        assertThat(bitmapBytes).isLessThan(links * 4);
+    }
+}
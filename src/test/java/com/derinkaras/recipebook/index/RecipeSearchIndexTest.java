@@ -0,0 +1,59 @@
+package com.derinkaras.recipebook.index;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RecipeSearchIndexTest {
+
+    // Nothing is loaded from the database: load() only runs as a Spring @PostConstruct
+    private final RecipeSearchIndex index = new RecipeSearchIndex(null, null);
+
+    @Test
+    void ranksMatchesAndFollowsUpdates() {
+        index.index(30L, "Tomato soup", "Slow cooked tomato and basil");
+        index.index(10L, "Basil pesto", "Basil, pine nuts and parmesan");
+        index.index(20L, "Green salad", "With a tomato vinaigrette");
+
+        assertThat(index.search("tomato", 10)).containsExactly(30L, 20L);
+        assertThat(index.search("basil tomato", 1)).containsExactly(30L);
+
+        // Re-indexing an older recipe inserts into the middle of the posting lists
+        index.index(10L, "Tomato pesto", "Sun-dried tomato");
+        index.remove(30L);
+        assertThat(index.search("tomato", 10)).containsExactly(10L, 20L);
+        assertThat(index.search("soup", 10)).isEmpty();
+        assertThat(index.size()).isEqualTo(2);
+    }
+
+    // 200,000 recipes of about 25 words from a 5,000-word vocabulary, a few words in most recipes
+    // and a long tail in few. The posting lists have to stay close to the 12 bytes per posting
+    // of their arrays; a Map<Long, Integer> per word costs about 100.
+    @Test
+    void memoryFollowsPostings() {
+        Random random = new Random(42);
+        long postings = 0;
+        for (long recipeId = 1; recipeId <= 200_000; recipeId++) {
+            StringBuilder title = new StringBuilder();
+            StringBuilder description = new StringBuilder();
+            Set<String> words = new HashSet<>();
+            for (int i = 0; i < 25; i++) {
+                // Cubed: low word numbers are common, the long tail is rare
+                double r = random.nextDouble();
+                String word = "w" + (int) (5_000 * r * r * r);
+                (i < 3 ? title : description).append(word).append(' ');
+                words.add(word);
+            }
+            index.index(recipeId, title.toString(), description.toString());
+            postings += words.size();
+        }
+
+        assertThat(index.postingBytes()).isLessThan(postings * 18);
+        index.compact();
+        assertThat(index.postingBytes()).isEqualTo(postings * (Long.BYTES + Integer.BYTES));
+    }
+}
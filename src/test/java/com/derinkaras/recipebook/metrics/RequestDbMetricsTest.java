@@ -0,0 +1,72 @@
+package com.derinkaras.recipebook.metrics;
+
+import com.derinkaras.recipebook.dto.user.CreateUserRequest;
+import com.derinkaras.recipebook.service.UserDeletionService;
+import com.derinkaras.recipebook.service.UserService;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.csrf;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// The per-request DB metrics (recipebook.request.*) recorded by RequestDbMetricsFilter.
+@SpringBootTest
+@AutoConfigureMockMvc
+@WithMockUser
+class RequestDbMetricsTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private UserDeletionService userDeletionService;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private Long userId;
+
+    @BeforeEach
+    void registerUser() {
+        String name = "dbm" + Long.toString(System.nanoTime(), 36);
+        CreateUserRequest req = new CreateUserRequest();
+        req.setUsername(name);
+        req.setEmail(name + "@example.com");
+        req.setPassword("password-" + name);
+        userId = userService.registerUser(req).getId();
+    }
+
+    @AfterEach
+    void cleanUp() {
+        if (userId != null) {
+            userDeletionService.deleteUser(userId);
+        }
+    }
+
+    // The statement count is taken on the DataSource, so JdbcTemplate work is included. Deleting
+    // a user is JdbcTemplate only: lock the user, then delete links, recipes, profile and user.
+    @Test
+    void requestMetricCountsJdbcTemplateStatements() throws Exception {
+        DistributionSummary summary = meterRegistry.summary("recipebook.request.statements",
+                "method", "DELETE", "uri", "/api/v1/user/{id}");
+        double before = summary.totalAmount();
+
+        mockMvc.perform(delete("/api/v1/user/" + userId).with(csrf())).andExpect(status().isNoContent());
+        userId = null;
+
+        assertThat(summary.totalAmount() - before).isEqualTo(5);
+    }
+}
@@ -0,0 +1,172 @@
+package com.derinkaras.recipebook.respository;
+
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.sql.Statement;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+// A database the application created for itself before Flyway (ddl-auto=update) must end up,
+// after baselining at version 1 and running the later migrations, with the same schema as one
+// built from V1. The legacy schema is the DDL Hibernate generated at the baseline commit
+// (src/test/resources/db/legacy/ddl-auto-schema.sql).
+//
+// Both are built side by side in scratch schemas of the test database with the same Flyway
+// settings as application.properties, and compared through the catalog: columns, index
+// definitions and sequence increments.
+//
+// The legacy application also stored ingredient names as typed; V4 folds the case/spacing
+// variants into one normalized row.
+@SpringBootTest
+class LegacySchemaMigrationTest {
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private String legacy;
+    private String fresh;
+
+    @BeforeEach
+    void createSchemas() throws IOException {
+        String run = Long.toString(System.nanoTime(), 36);
+        legacy = "legacy_" + run;
+        fresh = "fresh_" + run;
+        String ddl = new ClassPathResource("db/legacy/ddl-auto-schema.sql").getContentAsString(StandardCharsets.UTF_8);
+        jdbcTemplate.execute((ConnectionCallback<Void>) connection -> {
+            try (Statement statement = connection.createStatement()) {
+                statement.execute("CREATE SCHEMA " + legacy);
+                statement.execute("SET search_path TO " + legacy);
+                for (String sql : ddl.replaceAll("(?m)^--.*$", "").split(";")) {
+                    if (!sql.isBlank()) {
+                        statement.execute(sql);
+                    }
+                }
+                statement.execute("RESET search_path");
+            }
+            return null;
+        });
+    }
+
+    @AfterEach
+    void dropSchemas() {
+        jdbcTemplate.execute("DROP SCHEMA IF EXISTS " + legacy + " CASCADE");
+        jdbcTemplate.execute("DROP SCHEMA IF EXISTS " + fresh + " CASCADE");
+    }
+
+    @Test
+    void legacyDatabaseMigratesToTheCurrentSchema() {
+        jdbcTemplate.update("INSERT INTO " + legacy + ".users (email, username, password) VALUES ('a@example.com', 'a', 'x')");
+        jdbcTemplate.update("INSERT INTO " + legacy + ".recipe (title, owner_id) SELECT 'old', id FROM " + legacy + ".users");
+
+        migrate(legacy);
+        migrate(fresh);
+
+        assertThat(columns(legacy)).isEqualTo(columns(fresh));
+        assertThat(indexes(legacy)).isEqualTo(indexes(fresh));
+        assertThat(sequences(legacy)).isEqualTo(sequences(fresh));
+        assertThat(jdbcTemplate.queryForObject("SELECT version FROM " + legacy + ".recipe", Long.class)).isZero();
+        // New rows carry on after the ids the old identity columns handed out
+        Long oldRecipe = jdbcTemplate.queryForObject("SELECT id FROM " + legacy + ".recipe", Long.class);
+        Long newRecipe = jdbcTemplate.queryForObject("INSERT INTO " + legacy + ".recipe (title) VALUES ('new') RETURNING id", Long.class);
+        assertThat(newRecipe).isGreaterThan(oldRecipe);
+    }
+
+    @Test
+    void caseVariantIngredientsAreMergedWithTheirLinks() {
+        jdbcTemplate.update("INSERT INTO " + legacy + ".ingredient (name) VALUES ('Tomato'), ('tomato'), (' Tomato  '), ('Olive   Oil'), ('basil')");
+        jdbcTemplate.update("INSERT INTO " + legacy + ".recipe (title) VALUES ('a'), ('b')");
+        Map<String, Long> ingredients = ids("ingredient", "name");
+        Map<String, Long> recipes = ids("recipe", "title");
+        link(recipes.get("a"), ingredients.get("Tomato"), ingredients.get("tomato"), ingredients.get("Olive   Oil"));
+        link(recipes.get("b"), ingredients.get(" Tomato  "), ingredients.get("basil"));
+
+        migrate(legacy);
+
+        assertThat(ids("ingredient", "name")).isEqualTo(Map.of(
+                "tomato", ingredients.get("Tomato"),
+                "olive oil", ingredients.get("Olive   Oil"),
+                "basil", ingredients.get("basil")));
+        assertThat(jdbcTemplate.queryForList(
+                "SELECT r.title || ':' || i.name FROM " + legacy + ".recipe_ingredient ri"
+                        + " JOIN " + legacy + ".recipe r ON r.id = ri.recipe_id"
+                        + " JOIN " + legacy + ".ingredient i ON i.id = ri.ingredient_id ORDER BY 1", String.class))
+                .containsExactly("a:olive oil", "a:tomato", "b:basil", "b:tomato");
+        // Both recipes' ingredient lists changed, so both ETags must
+        assertThat(jdbcTemplate.queryForList("SELECT version FROM " + legacy + ".recipe", Long.class)).containsOnly(1L);
+        assertThatThrownBy(() -> jdbcTemplate.update("INSERT INTO " + legacy + ".ingredient (name) VALUES ('TOMATO ')"))
+                .isInstanceOf(DuplicateKeyException.class);
+    }
+
+    private Map<String, Long> ids(String table, String column) {
+        Map<String, Long> ids = new HashMap<>();
+        jdbcTemplate.query("SELECT id, " + column + " FROM " + legacy + "." + table,
+                (RowCallbackHandler) rs -> ids.put(rs.getString(2), rs.getLong(1)));
+        return ids;
+    }
+
+    private void link(Long recipeId, Long... ingredientIds) {
+        for (Long ingredientId : ingredientIds) {
+            jdbcTemplate.update("INSERT INTO " + legacy + ".recipe_ingredient (recipe_id, ingredient_id) VALUES (?, ?)", recipeId, ingredientId);
+        }
+    }
+
+    private void migrate(String schema) {
+        Flyway.configure()
+                .dataSource(dataSource)
+                .schemas(schema)
+                .locations("classpath:db/migration")
+                .baselineOnMigrate(true)
+                .baselineVersion("1")
+                .configuration(Map.of("flyway.postgresql.transactional.lock", "false"))
+                .load()
+                .migrate();
+    }
+
+    private List<Map<String, Object>> columns(String schema) {
+        return jdbcTemplate.queryForList("""
+                SELECT table_name, column_name, data_type, character_maximum_length, is_nullable, is_identity
+                FROM information_schema.columns
+                WHERE table_schema = ? AND table_name <> 'flyway_schema_history'
+                ORDER BY table_name, column_name""", schema);
+    }
+
+    // The unique and primary-key indexes are named by Hibernate in one and by Postgres in the
+    // other, so they are compared by table and definition rather than by name
+    private List<String> indexes(String schema) {
+        return jdbcTemplate.queryForList("""
+                SELECT tablename || ' ' || regexp_replace(indexdef, '^.* USING ', '')
+                FROM pg_indexes
+                WHERE schemaname = ? AND tablename <> 'flyway_schema_history'
+                ORDER BY 1""", String.class, schema);
+    }
+
+    // Read from information_schema like Hibernate's schema validation does; it leaves out the
+    // sequences behind identity columns
+    private List<Map<String, Object>> sequences(String schema) {
+        return jdbcTemplate.queryForList("""
+                SELECT sequence_name, increment
+                FROM information_schema.sequences
+                WHERE sequence_schema = ?
+                ORDER BY sequence_name""", schema);
+    }
+}
@@ -0,0 +1,179 @@
+package com.derinkaras.recipebook.respository;
+
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Checks that the hot repository queries are answered by the indexes from V2__query_indexes.sql.
+//
+// The SQL is not written out here: each test calls the real repository method, the statement
+// Hibernate sends is captured by its StatementInspector, and that exact SQL is EXPLAINed. The
+// JDBC placeholders become $1, $2, ..., the statement is PREPAREd and EXPLAIN EXECUTE shows its
+// generic plan (plan_cache_mode = force_generic_plan): the plan a prepared statement settles on
+// after its first executions, which does not depend on the values passed.
+//
+// An empty table is always cheapest to scan sequentially, and with no statistics two tiny
+// indexes cost the same, so @BeforeEach loads a catalog-sized data set (5,000 users, 20,000
+// recipes, 500 ingredients, 100,000 links) and ANALYZEs it. @Transactional keeps the data,
+// the statistics and the EXPLAINs on one connection and rolls all of it back.
+@SpringBootTest
+@Transactional
+class QueryPlanIndexTest {
+
+    private static final Pattern PLACEHOLDER = Pattern.compile("\\?");
+
+    @TestConfiguration
+    static class CaptureSql {
+        @Bean
+        CapturingInspector capturingInspector() {
+            return new CapturingInspector();
+        }
+
+        @Bean
+        HibernatePropertiesCustomizer capturingInspectorCustomizer(CapturingInspector inspector) {
+            return properties -> properties.put(AvailableSettings.STATEMENT_INSPECTOR, inspector);
+        }
+    }
+
+    static class CapturingInspector implements StatementInspector {
+        final List<String> statements = new CopyOnWriteArrayList<>();
+
+        @Override
+        public String inspect(String sql) {
+            statements.add(sql);
+            return sql;
+        }
+    }
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private CapturingInspector inspector;
+
+    @Autowired
+    private RecipeRepository recipeRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private IngredientRepository ingredientRepository;
+
+    private Long ownerId;
+    private Long ingredientId;
+
+    @BeforeEach
+    void loadCatalog() {
+        jdbcTemplate.update("""
+                INSERT INTO users (email, username, password)
+                SELECT 'qp-' || g || '@example.com', 'qp-' || g, 'x' FROM generate_series(1, 5000) g
+                """);
+        jdbcTemplate.update("""
+                INSERT INTO ingredient (name)
+                SELECT 'qp-ingredient-' || g FROM generate_series(1, 500) g
+                """);
+        jdbcTemplate.update("""
+                INSERT INTO recipe (title, created_at, owner_id)
+                SELECT 'qp recipe ' || g, now() - g * interval '1 minute', u.ids[1 + g % 5000]
+                FROM generate_series(1, 20000) g,
+                     (SELECT array_agg(id) AS ids FROM users WHERE username LIKE 'qp-%') u
+                """);
+        jdbcTemplate.update("""
+                INSERT INTO recipe_ingredient (recipe_id, ingredient_id)
+                SELECT r.id, i.ids[1 + (r.id * 7 + k * 131) % 500]
+                FROM recipe r, generate_series(0, 4) k,
+                     (SELECT array_agg(id) AS ids FROM ingredient WHERE name LIKE 'qp-ingredient-%') i
+                WHERE r.title LIKE 'qp recipe %'
+                """);
+        jdbcTemplate.execute("ANALYZE users, ingredient, recipe, recipe_ingredient");
+        jdbcTemplate.execute("SET LOCAL plan_cache_mode = force_generic_plan");
+
+        ownerId = jdbcTemplate.queryForObject("SELECT min(id) FROM users WHERE username LIKE 'qp-%'", Long.class);
+        ingredientId = jdbcTemplate.queryForObject(
+                "SELECT min(id) FROM ingredient WHERE name LIKE 'qp-ingredient-%'", Long.class);
+    }
+
+    @Test
+    void keysetPageOfAllRecipesUsesCreatedAtIndex() {
+        assertThat(planOf(() -> recipeRepository.findPageByCreatedAtBefore(
+                LocalDateTime.now(), Long.MAX_VALUE, PageRequest.of(0, 21))))
+                .contains("recipe_created_at_id_idx");
+    }
+
+    @Test
+    void keysetPageOfOwnerUsesOwnerCreatedAtIndex() {
+        assertThat(planOf(() -> recipeRepository.findPageByOwnerAndCreatedAtBefore(
+                ownerId, LocalDateTime.now(), Long.MAX_VALUE, PageRequest.of(0, 21))))
+                .contains("recipe_owner_created_at_id_idx");
+    }
+
+    @Test
+    void ownerPageById() {
+        assertThat(planOf(() -> recipeRepository.findPageByOwnerAndIdBefore(
+                ownerId, Long.MAX_VALUE, PageRequest.of(0, 21))))
+                .contains("recipe_owner_id_idx");
+    }
+
+    @Test
+    void recipesUsingIngredientUsesReverseIndex() {
+        assertThat(planOf(() -> recipeRepository.incrementVersionsUsingIngredient(ingredientId)))
+                .contains("recipe_ingredient_ingredient_idx");
+    }
+
+    @Test
+    void ingredientsOfRecipesUsePrimaryKey() {
+        List<Long> ids = jdbcTemplate.queryForList(
+                "SELECT id FROM recipe WHERE title LIKE 'qp recipe %' ORDER BY id LIMIT 3", Long.class);
+        assertThat(planOf(() -> recipeRepository.findIngredientLinksByRecipeIds(ids)))
+                .contains("recipe_ingredient_pkey");
+    }
+
+    @Test
+    void userLookupsUseUniqueIndexes() {
+        assertThat(planOf(() -> userRepository.existsByEmail("qp-1@example.com"))).contains("Index");
+        assertThat(planOf(() -> userRepository.existsByUsername("qp-1"))).contains("Index");
+        assertThat(planOf(() -> ingredientRepository.findByName("qp-ingredient-1"))).contains("Index");
+    }
+
+    // Runs the repository call, takes the one statement Hibernate prepared for it and returns
+    // the generic plan of that statement.
+    private String planOf(Runnable repositoryCall) {
+        inspector.statements.clear();
+        repositoryCall.run();
+        assertThat(inspector.statements).hasSize(1);
+
+        AtomicInteger parameter = new AtomicInteger();
+        Matcher placeholders = PLACEHOLDER.matcher(inspector.statements.get(0));
+        String sql = placeholders.replaceAll(match -> Matcher.quoteReplacement("$" + parameter.incrementAndGet()));
+        String nulls = String.join(", ", Collections.nCopies(parameter.get(), "NULL"));
+
+        jdbcTemplate.execute("PREPARE captured AS " + sql);
+        try {
+            List<String> lines = jdbcTemplate.queryForList(
+                    "EXPLAIN EXECUTE captured" + (nulls.isEmpty() ? "" : "(" + nulls + ")"), String.class);
+            return String.join("\n", lines);
+        } finally {
+            jdbcTemplate.execute("DEALLOCATE captured");
+        }
+    }
+}
@@ -0,0 +1,99 @@
+package com.derinkaras.recipebook.service;
+
+import com.derinkaras.recipebook.dto.recipe.CreateRecipeRequest;
+import com.derinkaras.recipebook.dto.recipe.RecipeImportErrorDto;
+import com.derinkaras.recipebook.dto.recipe.RecipeImportResultDto;
+import com.derinkaras.recipebook.dto.user.CreateUserRequest;
+import com.derinkaras.recipebook.model.Recipe;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// A bad line must only reject itself: the rest of its chunk is still imported and the result
+// names exactly the lines that failed.
+@SpringBootTest
+class RecipeImportServiceTest {
+
+    @Autowired
+    private RecipeImportService recipeImportService;
+
+    @Autowired
+    private RecipeService recipeService;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private UserDeletionService userDeletionService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private Long ownerId;
+
+    @BeforeEach
+    void registerOwner() {
+        String name = "import" + Long.toString(System.nanoTime(), 36);
+        CreateUserRequest req = new CreateUserRequest();
+        req.setUsername(name);
+        req.setEmail(name + "@example.com");
+        req.setPassword("password-" + name);
+        ownerId = userService.registerUser(req).getId();
+    }
+
+    @AfterEach
+    void deleteOwner() {
+        userDeletionService.deleteUser(ownerId);
+    }
+
+    @Test
+    void badLinesAreReportedAndTheRestOfTheChunkIsImported() throws Exception {
+        String ndjson = line("first")
+                + line("x".repeat(256))      // too long for recipe.title: bean validation
+                + line("second")
+                + line("nul\\u0000byte")     // passes validation, refused by Postgres
+                + line("third")
+                + "{\"title\":\"no owner\",\"difficulty\":\"EASY\",\"ownerId\":-1}\n";
+
+        RecipeImportResultDto result = recipeImportService.importNdjson(
+                new ByteArrayInputStream(ndjson.getBytes(StandardCharsets.UTF_8)));
+
+        assertThat(result.getImported()).isEqualTo(3);
+        assertThat(result.getFailed()).isEqualTo(3);
+        assertThat(result.getErrors()).extracting(RecipeImportErrorDto::getLine).containsExactly(2L, 4L, 6L);
+        assertThat(jdbcTemplate.queryForList("SELECT title FROM recipe WHERE owner_id = ? ORDER BY title",
+                String.class, ownerId)).containsExactly("first", "second", "third");
+    }
+
+    // Imported ids come from the same pooled sequence as RecipeService.create(), 50 per nextval()
+    @Test
+    void importedIdsShareTheSequenceBlocksWithCreate() throws Exception {
+        recipeImportService.importNdjson(new ByteArrayInputStream(
+                line("imported").repeat(60).getBytes(StandardCharsets.UTF_8)));
+        CreateRecipeRequest req = new CreateRecipeRequest();
+        req.setTitle("created");
+        req.setDifficulty("EASY");
+        req.setOwnerId(ownerId);
+        recipeService.create(req);
+        recipeImportService.importNdjson(new ByteArrayInputStream(
+                line("imported").repeat(10).getBytes(StandardCharsets.UTF_8)));
+
+        List<Long> ids = jdbcTemplate.queryForList("SELECT id FROM recipe WHERE owner_id = ? ORDER BY id", Long.class, ownerId);
+        assertThat(ids).hasSize(71).doesNotHaveDuplicates();
+        // Two blocks for the first 60, not 60 values 50 apart
+        assertThat(ids.get(59) - ids.get(0)).isLessThan(2L * Recipe.ID_ALLOCATION_SIZE);
+    }
+
+    private String line(String title) {
+        return "{\"title\":\"" + title + "\",\"difficulty\":\"EASY\",\"ownerId\":" + ownerId + "}\n";
+    }
+}
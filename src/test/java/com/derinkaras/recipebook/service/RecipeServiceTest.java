@@ -0,0 +1,160 @@
+package com.derinkaras.recipebook.service;
+
+import com.derinkaras.recipebook.dto.recipe.CreateRecipeRequest;
+import com.derinkaras.recipebook.dto.recipe.PatchRecipeRequest;
+import com.derinkaras.recipebook.dto.recipe.RecipeDto;
+import com.derinkaras.recipebook.dto.recipe.RecipeImportResultDto;
+import com.derinkaras.recipebook.dto.recipe.UpdateRecipeRequest;
+import com.derinkaras.recipebook.dto.user.CreateUserRequest;
+import com.derinkaras.recipebook.index.IngredientDictionary;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+class RecipeServiceTest {
+
+    @Autowired
+    private RecipeService recipeService;
+
+    @Autowired
+    private RecipeImportService recipeImportService;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private UserDeletionService userDeletionService;
+
+    @Autowired
+    private IngredientService ingredientService;
+
+    @Autowired
+    private RecipeExportService recipeExportService;
+
+    @Autowired
+    private IngredientDictionary ingredientDictionary;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private Long ownerId;
+    private final List<Long> ingredientIds = new ArrayList<>();
+
+    @BeforeEach
+    void registerOwner() {
+        String name = "recipes" + Long.toString(System.nanoTime(), 36);
+        CreateUserRequest req = new CreateUserRequest();
+        req.setUsername(name);
+        req.setEmail(name + "@example.com");
+        req.setPassword("password-" + name);
+        ownerId = userService.registerUser(req).getId();
+    }
+
+    @AfterEach
+    void cleanUp() {
+        userDeletionService.deleteUser(ownerId);
+        ingredientIds.forEach(ingredientService::delete);
+    }
+
+    // An ingredient inserted by another instance is not in this one's dictionary; the recipe
+    // paths must find it in the database instead of silently dropping it.
+    @Test
+    void ingredientsCreatedElsewhereAreLookedUpInTheDatabase() throws Exception {
+        Long basil = insertedElsewhere("basil");
+        Long thyme = insertedElsewhere("thyme");
+        Long sage = insertedElsewhere("sage");
+
+        CreateRecipeRequest create = new CreateRecipeRequest();
+        create.setTitle("pesto");
+        create.setDifficulty("EASY");
+        create.setOwnerId(ownerId);
+        create.setIngredientIds(List.of(basil));
+        RecipeDto created = recipeService.create(create);
+        assertThat(created.getIngredientNames()).containsExactly(ingredientName("basil"));
+
+        PatchRecipeRequest patch = new PatchRecipeRequest();
+        patch.setAddIngredientIds(List.of(thyme));
+        assertThat(recipeService.patch(created.getId(), patch, null).getIngredientNames())
+                .containsExactlyInAnyOrder(ingredientName("basil"), ingredientName("thyme"));
+
+        // Rendering: the link exists in the table but the dictionary has never seen the id
+        ingredientDictionary.remove(thyme);
+        assertThat(recipeService.getAll(ownerId).get(0).getIngredientNames())
+                .containsExactlyInAnyOrder(ingredientName("basil"), ingredientName("thyme"));
+
+        String line = "{\"title\":\"sage butter\",\"difficulty\":\"EASY\",\"ownerId\":" + ownerId
+                + ",\"ingredientIds\":[" + sage + "]}\n";
+        RecipeImportResultDto imported = recipeImportService.importNdjson(
+                new ByteArrayInputStream(line.getBytes(StandardCharsets.UTF_8)));
+        assertThat(imported.getImported()).isEqualTo(1);
+        assertThat(imported.getFailed()).isZero();
+    }
+
+    @Test
+    void listVersionChangesOnEveryWrite() {
+        String empty = recipeService.getListVersion(ownerId);
+
+        Long first = createRecipe("first").getId();
+        String created = recipeService.getListVersion(ownerId);
+        assertThat(created).isNotEqualTo(empty);
+
+        UpdateRecipeRequest update = new UpdateRecipeRequest();
+        update.setTitle("first, renamed");
+        recipeService.update(first, update);
+        String updated = recipeService.getListVersion(ownerId);
+        assertThat(updated).isNotEqualTo(created);
+
+        // Same count and the new row starts at version 0: only the higher id tells them apart
+        recipeService.deleteById(first);
+        createRecipe("second");
+        assertThat(recipeService.getListVersion(ownerId)).isNotIn(empty, created, updated);
+    }
+
+    @Test
+    void exportCarriesTheVersion() {
+        Long id = createRecipe("exported").getId();
+        UpdateRecipeRequest update = new UpdateRecipeRequest();
+        update.setTitle("exported, renamed");
+        recipeService.update(id, update);
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        recipeExportService.exportAll(out);
+
+        assertThat(out.toString(StandardCharsets.UTF_8))
+                .contains("\"id\":" + id + ",\"title\":\"exported, renamed\"")
+                .containsPattern("\"id\":" + id + ",[^\\n]*\"version\":1,");
+    }
+
+    private RecipeDto createRecipe(String title) {
+        CreateRecipeRequest req = new CreateRecipeRequest();
+        req.setTitle(title);
+        req.setDifficulty("EASY");
+        req.setOwnerId(ownerId);
+        return recipeService.create(req);
+    }
+
+    // Written straight to the table, so this instance's dictionary does not know it
+    private Long insertedElsewhere(String name) {
+        Long id = jdbcTemplate.queryForObject("INSERT INTO ingredient (name) VALUES (?) RETURNING id",
+                Long.class, ingredientName(name));
+        ingredientIds.add(id);
+        assertThat(ingredientDictionary.contains(id)).isFalse();
+        return id;
+    }
+
+    private String ingredientName(String name) {
+        return name + "-" + ownerId;
+    }
+}
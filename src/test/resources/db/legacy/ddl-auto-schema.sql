@@ -0,0 +1,16 @@
+-- The schema the application created for itself before Flyway (spring.jpa.hibernate.ddl-auto=update
+-- at the baseline commit), exactly as Hibernate printed it on an empty database. Databases like
+-- this are baselined at version 1 and then migrated; see LegacySchemaMigrationTest.
+create table ingredient (id bigint generated by default as identity, name varchar(255) not null, primary key (id));
+create table recipe (id bigint generated by default as identity, created_at timestamp(6), description varchar(2000), difficulty varchar(255), title varchar(255) not null, owner_id bigint, primary key (id));
+create table recipe_ingredient (recipe_id bigint not null, ingredient_id bigint not null, primary key (recipe_id, ingredient_id));
+create table user_profile (id bigint generated by default as identity, bio varchar(500), first_name varchar(255), last_name varchar(255), user_id bigint not null, primary key (id));
+create table users (id bigint generated by default as identity, created_date timestamp(6), email varchar(255) not null, password varchar(255) not null, username varchar(255) not null, primary key (id));
+alter table if exists ingredient add constraint UKbcuaj97y3iu3t2vj26jg6hijj unique (name);
+alter table if exists user_profile add constraint UKebc21hy5j7scdvcjt0jy6xxrv unique (user_id);
+alter table if exists users add constraint UK6dotkott2kjsp8vw4d0m25fb7 unique (email);
+alter table if exists users add constraint UKr43af9ap4edm43mmtq01oddj6 unique (username);
+alter table if exists recipe add constraint FK10s554wkhib4wot5o7g4hpyd3 foreign key (owner_id) references users;
+alter table if exists recipe_ingredient add constraint FK9b3oxoskt0chwqxge0cnlkc29 foreign key (ingredient_id) references ingredient;
+alter table if exists recipe_ingredient add constraint FKgu1oxq7mbcgkx5dah6o8geirh foreign key (recipe_id) references recipe;
+alter table if exists user_profile add constraint FKuganfwvnbll4kn2a3jeyxtyi foreign key (user_id) references users;